@@ -0,0 +1,112 @@
+package com.restassured.demo.benchmarks;
+
+import com.restassured.demo.utils.ExcelDataReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a login data sheet of {@code rows} rows, generated for the duration of
+ * the trial in {@code target/benchmark-testdata} rather than the suite's own test
+ * data. The {@code poi} variants parse the workbook on every call
+ * ({@code -Dexcel.snapshots=false}); the {@code snapshot} variants measure what tests
+ * get by default: the first call compiles the sheet, and every later one decodes the
+ * rows of the snapshot already mapped in the JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExcelDataReaderBenchmark {
+    private static final String DIRECTORY = "target/benchmark-testdata";
+    private static final String FILE_NAME = "benchmark-login-test-data.xlsx";
+    private static final String SHEET_NAME = "LoginData";
+
+    @Param({"10", "1000"})
+    private int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeWorkbook() throws IOException {
+        file = Paths.get(DIRECTORY, FILE_NAME);
+        Files.createDirectories(file.getParent());
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("email");
+            header.createCell(1).setCellValue("password");
+            header.createCell(2).setCellValue("timezone");
+            header.createCell(3).setCellValue("expectedStatus");
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("user" + i + "@example.com");
+                row.createCell(1).setCellValue("password" + i);
+                row.createCell(2).setCellValue("Asia/Manila");
+                row.createCell(3).setCellValue(i % 2 == 0 ? 200 : 401);
+            }
+            workbook.write(out);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkbook() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dexcel.testDataDir=" + DIRECTORY, "-Dexcel.snapshots=false"})
+    public Object[][] readTestDataPoi() {
+        return ExcelDataReader.readTestData(FILE_NAME, SHEET_NAME);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dexcel.testDataDir=" + DIRECTORY,
+            "-Dexcel.snapshotDir=" + DIRECTORY + "/snapshots"})
+    public Object[][] readTestDataSnapshot() {
+        return ExcelDataReader.readTestData(FILE_NAME, SHEET_NAME);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dexcel.testDataDir=" + DIRECTORY, "-Dexcel.snapshots=false"})
+    public void streamTestDataPoi(Blackhole blackhole) {
+        stream(blackhole);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dexcel.testDataDir=" + DIRECTORY,
+            "-Dexcel.snapshotDir=" + DIRECTORY + "/snapshots"})
+    public void streamTestDataSnapshot(Blackhole blackhole) {
+        stream(blackhole);
+    }
+
+    private static void stream(Blackhole blackhole) {
+        Iterator<Object[]> data = ExcelDataReader.streamTestData(FILE_NAME, SHEET_NAME);
+        while (data.hasNext()) {
+            blackhole.consume(data.next());
+        }
+    }
+}
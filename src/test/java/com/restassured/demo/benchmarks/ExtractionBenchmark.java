@@ -0,0 +1,89 @@
+package com.restassured.demo.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restassured.demo.utils.JsonExpectations;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Field extraction from a shift-notes-clients response: GPath via {@code jsonPath()}
+ * versus a single Jackson tree parse, for one field and for the five fields CRUDTest checks,
+ * plus the same five checks as compiled {@link JsonExpectations}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+    private static final String SHIFT_NOTES_CLIENTS = "{\"results\":{\"current_page\":1,\"data\":["
+            + "{\"id\":1,\"client_id\":2,\"shift_notes\":{\"id\":42,\"clinician_id\":131,\"location_id\":153,"
+            + "\"shift\":\"Day Shift\",\"note\":\"notes\\ntest\",\"archived_at\":null}},"
+            + "{\"id\":2,\"client_id\":3,\"shift_notes\":{\"id\":41,\"clinician_id\":131,\"location_id\":153,"
+            + "\"shift\":\"Night Shift\",\"note\":\"older note\",\"archived_at\":null}}"
+            + "],\"per_page\":15,\"total\":2}}";
+
+    private static final byte[] SHIFT_NOTES_CLIENTS_BYTES = SHIFT_NOTES_CLIENTS.getBytes(StandardCharsets.UTF_8);
+
+    private static final JsonExpectations FIVE_FIELDS = JsonExpectations.builder()
+            .expect("results.data[0].shift_notes.id", equalTo(42))
+            .expect("results.data[0].shift_notes.clinician_id", equalTo(131))
+            .expect("results.data[0].shift_notes.location_id", equalTo(153))
+            .expect("results.data[0].shift_notes.shift", equalTo("Day Shift"))
+            .expect("results.data[0].shift_notes.note", equalTo("notes\ntest"))
+            .build();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Benchmark
+    public int jsonPathSingleField() {
+        return JsonPath.from(SHIFT_NOTES_CLIENTS).getInt("results.data[0].shift_notes.id");
+    }
+
+    @Benchmark
+    public int jacksonTreeSingleField() throws IOException {
+        return mapper.readTree(SHIFT_NOTES_CLIENTS)
+                .path("results").path("data").path(0).path("shift_notes").path("id").asInt();
+    }
+
+    @Benchmark
+    public void jsonPathFiveFields(Blackhole blackhole) {
+        // CRUDTest's .body(path, matcher) assertions evaluate every path against a fresh JsonPath
+        for (String field : new String[] {"id", "clinician_id", "location_id", "shift", "note"}) {
+            blackhole.consume(JsonPath.from(SHIFT_NOTES_CLIENTS).get("results.data[0].shift_notes." + field));
+        }
+    }
+
+    @Benchmark
+    public void jacksonTreeFiveFields(Blackhole blackhole) throws IOException {
+        JsonNode note = mapper.readTree(SHIFT_NOTES_CLIENTS).path("results").path("data").path(0).path("shift_notes");
+        blackhole.consume(note.path("id").asInt());
+        blackhole.consume(note.path("clinician_id").asInt());
+        blackhole.consume(note.path("location_id").asInt());
+        blackhole.consume(note.path("shift").asText());
+        blackhole.consume(note.path("note").asText());
+    }
+
+    @Benchmark
+    public List<String> jsonExpectationsFiveFields() {
+        return FIVE_FIELDS.mismatches(SHIFT_NOTES_CLIENTS_BYTES);
+    }
+}
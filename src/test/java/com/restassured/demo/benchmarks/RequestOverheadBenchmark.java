@@ -0,0 +1,87 @@
+package com.restassured.demo.benchmarks;
+
+import com.restassured.demo.config.TestConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Client-side cost of a request built from the suite's default specs. The raw
+ * round trip hits the same simulator endpoint without RestAssured, so the gap
+ * between it and {@link #restAssuredRoundTrip()} is the framework's overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dapi.simulator=true")
+public class RequestOverheadBenchmark extends TestConfig {
+    private static final String CLIENTS_ENDPOINT = "/api/auth/shift-notes-clients";
+
+    private String bearerToken;
+
+    @Setup(Level.Trial)
+    public void startSimulator() {
+        setup();
+        bearerToken = "Bearer " + SESSIONS.getToken(DEFAULT_CREDENTIALS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopSimulator() {
+        tearDown();
+    }
+
+    @Override
+    protected boolean provisionsFixtures() {
+        return false;
+    }
+
+    @Override
+    protected boolean writesReport() {
+        return false;
+    }
+
+    @Benchmark
+    public RequestSpecification buildSpec() {
+        return given()
+                .spec(authSpec)
+                .queryParam("page", 1);
+    }
+
+    @Benchmark
+    public Response restAssuredRoundTrip() {
+        return given()
+                .spec(authSpec)
+                .get(CLIENTS_ENDPOINT);
+    }
+
+    @Benchmark
+    public int rawRoundTrip() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(getBaseUri() + CLIENTS_ENDPOINT).openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setRequestProperty("Authorization", bearerToken);
+        try (InputStream body = connection.getInputStream()) {
+            return body.readAllBytes().length;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.restassured.demo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.restassured.demo.config.JacksonConfig;
+import com.restassured.demo.models.LoginRequest;
+import com.restassured.demo.models.Post;
+import com.restassured.demo.models.ShiftNote;
+import com.restassured.demo.utils.TestData;
+import io.restassured.path.json.mapper.factory.DefaultJackson2ObjectMapperFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request body serialization through the suite's shared mapper's cached writers. The
+ * {@code perRequestMapper} variant creates the mapper the way RestAssured's default
+ * factory does for every body it writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private final ObjectWriter loginRequestWriter = JacksonConfig.writer(LoginRequest.class);
+    private final ObjectWriter postWriter = JacksonConfig.writer(Post.class);
+    private final ObjectWriter shiftNoteWriter = JacksonConfig.writer(ShiftNote.class);
+    private final DefaultJackson2ObjectMapperFactory mapperFactory = new DefaultJackson2ObjectMapperFactory();
+
+    private LoginRequest loginRequest;
+    private Post post;
+    private ShiftNote shiftNotePayload;
+
+    @Setup
+    public void createPayloads() {
+        loginRequest = new LoginRequest();
+        loginRequest.setEmail("dummy.test@gmail.com");
+        loginRequest.setPassword("dummyTestPassword123!");
+        loginRequest.setTimezone("Asia/Manila");
+
+        post = new Post();
+        post.setUserId(1);
+        post.setTitle("Test Post");
+        post.setBody("This is a test post");
+
+        shiftNotePayload = TestData.shiftNotePayload();
+    }
+
+    @Benchmark
+    public byte[] loginRequest() throws JsonProcessingException {
+        return loginRequestWriter.writeValueAsBytes(loginRequest);
+    }
+
+    @Benchmark
+    public byte[] post() throws JsonProcessingException {
+        return postWriter.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] shiftNotePayload() throws JsonProcessingException {
+        return shiftNoteWriter.writeValueAsBytes(shiftNotePayload);
+    }
+
+    @Benchmark
+    public byte[] shiftNotePayloadPerRequestMapper() throws JsonProcessingException {
+        return mapperFactory.create(ShiftNote.class, StandardCharsets.UTF_8.name()).writeValueAsBytes(shiftNotePayload);
+    }
+}
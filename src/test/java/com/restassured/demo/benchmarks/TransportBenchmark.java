@@ -0,0 +1,94 @@
+package com.restassured.demo.benchmarks;
+
+import com.restassured.demo.config.TestConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Fan-outs of concurrent GETs through the pooled HTTP/1.1 client against the
+ * HTTP/2 transport, both served by the simulator over Jetty with 100 ms of
+ * latency per call. One operation is a whole fan-out, so requests per second
+ * are the score times {@code fanOut}. The pool opens at most
+ * {@code http.pool.maxPerRoute} connections and queues the rest; HTTP/2 sends
+ * every call as a stream on one connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class TransportBenchmark extends TestConfig {
+    private static final String CLIENTS_ENDPOINT = "/api/auth/shift-notes-clients";
+
+    @Param({"16", "64"})
+    public int fanOut;
+
+    @Setup(Level.Trial)
+    public void startSimulator() {
+        setup();
+        SESSIONS.getToken(DEFAULT_CREDENTIALS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopSimulator() {
+        tearDown();
+    }
+
+    @Override
+    protected boolean provisionsFixtures() {
+        return false;
+    }
+
+    @Override
+    protected boolean writesReport() {
+        return false;
+    }
+
+    @Override
+    protected boolean limitsRequestRate() {
+        return false;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dapi.simulator=true", "-Dsimulator.http2=true", "-Dsimulator.latencyMs=100",
+            "-Dhttp.async.threads=64", "-Dhttp.transport=apache"})
+    public void pooledHttp11() {
+        fanOut();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Dapi.simulator=true", "-Dsimulator.http2=true", "-Dsimulator.latencyMs=100",
+            "-Dhttp.async.threads=64", "-Dhttp.transport=http2"})
+    public void multiplexedHttp2() {
+        fanOut();
+    }
+
+    private void fanOut() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[fanOut];
+        for (int i = 0; i < fanOut; i++) {
+            calls[i] = async(() -> given()
+                    .spec(authSpec)
+                .when()
+                    .get(CLIENTS_ENDPOINT)
+                .then()
+                    .statusCode(200));
+        }
+        awaitAll(calls);
+    }
+}
@@ -0,0 +1,175 @@
+package com.restassured.demo.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restassured.demo.models.LoginRequest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Suite-wide cache of auth tokens keyed by credential set. Concurrent callers
+ * that find no usable token share a single login call, and tokens are refreshed
+ * in the background shortly before they expire. Callers wait at most
+ * {@code auth.loginTimeoutSeconds} (120) for a login another thread started.
+ */
+public class AuthSessionManager {
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(Long.getLong("auth.tokenTtlSeconds", 1800));
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(Long.getLong("auth.refreshAheadSeconds", 60));
+    private static final Duration LOGIN_TIMEOUT = Duration.ofSeconds(Long.getLong("auth.loginTimeoutSeconds", 120));
+
+    private final String loginPath;
+    private final ConcurrentMap<String, CompletableFuture<Session>> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auth-session-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuthSessionManager(String loginPath) {
+        this.loginPath = loginPath;
+    }
+
+    public String getToken(LoginRequest credentials) {
+        String key = keyOf(credentials);
+        CompletableFuture<Session> created = new CompletableFuture<>();
+        CompletableFuture<Session> current = sessions.compute(key,
+                (k, existing) -> isUsable(existing) ? existing : created);
+        if (current == created) {
+            login(key, credentials, created);
+        }
+        try {
+            return current.get(LOGIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS).token;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new IllegalStateException("Login failed for " + credentials.getEmail(), e.getCause());
+        } catch (TimeoutException e) {
+            // The next caller logs in again rather than waiting on the same stuck call
+            sessions.remove(key, current);
+            throw new IllegalStateException("No login response for " + credentials.getEmail() + " within "
+                    + LOGIN_TIMEOUT.getSeconds() + " s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to log in " + credentials.getEmail(), e);
+        }
+    }
+
+    /**
+     * Drops the cached token if it is still the one the caller was rejected with,
+     * so the next {@link #getToken} performs a fresh login.
+     */
+    public void invalidate(LoginRequest credentials, String rejectedToken) {
+        String key = keyOf(credentials);
+        sessions.computeIfPresent(key, (k, existing) -> {
+            Session session = existing.getNow(null);
+            return session != null && session.token.equals(rejectedToken) ? null : existing;
+        });
+    }
+
+    public void shutdown() {
+        refresher.shutdownNow();
+        sessions.clear();
+    }
+
+    private void login(String key, LoginRequest credentials, CompletableFuture<Session> target) {
+        try {
+            Session session = requestSession(credentials);
+            target.complete(session);
+            scheduleRefresh(key, credentials, session);
+        } catch (Throwable e) {
+            // RestAssured rethrows IOExceptions undeclared, so anything may arrive here.
+            // Let the next caller retry instead of caching the failure
+            sessions.remove(key, target);
+            target.completeExceptionally(e);
+        }
+    }
+
+    private void scheduleRefresh(String key, LoginRequest credentials, Session session) {
+        long delayMillis = Duration.between(Instant.now(), session.expiresAt.minus(REFRESH_AHEAD)).toMillis();
+        if (refresher.isShutdown() || delayMillis <= 0) {
+            return;
+        }
+        refresher.schedule(() -> {
+            CompletableFuture<Session> current = sessions.get(key);
+            if (current == null || current.getNow(null) != session) {
+                return;
+            }
+            try {
+                Session refreshed = requestSession(credentials);
+                sessions.replace(key, current, CompletableFuture.completedFuture(refreshed));
+                scheduleRefresh(key, credentials, refreshed);
+            } catch (Throwable e) {
+                // Keep serving the current token; it is renewed on demand once it expires
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Session requestSession(LoginRequest credentials) {
+        Response response = given()
+                .contentType(ContentType.JSON)
+                .body(credentials)
+            .when()
+                .post(loginPath)
+            .then()
+                .extract()
+                .response();
+
+        String token = response.statusCode() == 200 ? response.path("results.token") : null;
+        if (token == null) {
+            throw new IllegalStateException("Login failed for " + credentials.getEmail()
+                    + " with status " + response.statusCode());
+        }
+        return new Session(token, expiryOf(token));
+    }
+
+    private static Instant expiryOf(String token) {
+        // Honour the JWT exp claim when the token carries one
+        String[] parts = token.split("\\.");
+        if (parts.length == 3) {
+            try {
+                byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+                JsonNode exp = JacksonConfig.mapper().readTree(payload).get("exp");
+                if (exp != null && exp.canConvertToLong()) {
+                    return Instant.ofEpochSecond(exp.asLong());
+                }
+            } catch (Exception e) {
+                // Not a JWT we can read; fall back to the configured TTL
+            }
+        }
+        return Instant.now().plus(DEFAULT_TTL);
+    }
+
+    private static boolean isUsable(CompletableFuture<Session> existing) {
+        if (existing == null || existing.isCompletedExceptionally()) {
+            return false;
+        }
+        Session session = existing.getNow(null);
+        return session == null || Instant.now().isBefore(session.expiresAt);
+    }
+
+    private static String keyOf(LoginRequest credentials) {
+        return credentials.getEmail() + '\u0000' + credentials.getPassword() + '\u0000' + credentials.getTimezone();
+    }
+
+    private static class Session {
+        private final String token;
+        private final Instant expiresAt;
+
+        Session(String token, Instant expiresAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.restassured.demo.config;
+
+import com.restassured.demo.utils.ThreadBinding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Server-side test resources created ahead of time and handed out one per test.
+ * {@link #provision(int)} starts creating fixtures concurrently without blocking;
+ * {@link #lease()} takes the next one (waiting for it if it is still being created,
+ * or creating one on demand when the pool has run dry). A thread keeps the same
+ * lease until its next test starts, so helpers within one test share a fixture,
+ * while parallel tests each work on their own.
+ *
+ * <p>Leased fixtures are never handed out again, since tests may have changed
+ * them. {@link #cleanup()} removes every fixture that is left over in one
+ * concurrent batch at suite end; tests that delete theirs call {@link #consumed()}.
+ *
+ * <p>Waiting for a fixture, and each phase of the cleanup, gives up after
+ * {@code fixtures.timeoutSeconds} (60), so a call that never returns fails the
+ * run instead of hanging it.
+ */
+public class FixturePool<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(FixturePool.class);
+    private static final int MAX_THREADS = 8;
+    private static final List<FixturePool<?>> POOLS = new CopyOnWriteArrayList<>();
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("fixtures.timeoutSeconds", 60));
+
+    private final String name;
+    private final Supplier<T> factory;
+    private final Consumer<T> cleaner;
+    private final ExecutorService executor;
+    private final BlockingQueue<CompletableFuture<T>> available = new LinkedBlockingQueue<>();
+    private final Set<T> outstanding = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<T> leased = new ThreadLocal<>();
+
+    /** {@code cleaner} may be null for resources the API cannot delete. */
+    public FixturePool(String name, Supplier<T> factory, Consumer<T> cleaner) {
+        this.name = name;
+        this.factory = factory;
+        this.cleaner = cleaner;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(MAX_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "fixtures-" + name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        POOLS.add(this);
+    }
+
+    /** Starts creating {@code count} fixtures in the background. */
+    public void provision(int count) {
+        for (int i = 0; i < count; i++) {
+            available.add(CompletableFuture.supplyAsync(this::create, executor));
+        }
+        if (count > 0) {
+            LOG.info("Provisioning {} {} fixture(s)", count, name);
+        }
+    }
+
+    /** The current thread's fixture, leasing a fresh one if it holds none. */
+    public T lease() {
+        T fixture = leased.get();
+        if (fixture == null) {
+            CompletableFuture<T> next = available.poll();
+            fixture = next == null ? create() : join(next);
+            leased.set(fixture);
+        }
+        return fixture;
+    }
+
+    /** Registers a fixture the test created itself, so it is cleaned up with the rest. */
+    public void track(T fixture) {
+        outstanding.add(fixture);
+    }
+
+    /** The current lease was deleted by the test and needs no cleanup. */
+    public void consumed() {
+        T fixture = leased.get();
+        if (fixture != null) {
+            outstanding.remove(fixture);
+        }
+    }
+
+    /** Ends the current thread's leases in every pool; called when a test starts. */
+    public static void releaseThread() {
+        POOLS.forEach(pool -> pool.leased.remove());
+    }
+
+    /** The current thread's leases in every pool, for threads making calls on behalf of its test. */
+    public static ThreadBinding captureLeases() {
+        Map<FixturePool<?>, Object> leases = new HashMap<>();
+        for (FixturePool<?> pool : POOLS) {
+            Object fixture = pool.leased.get();
+            if (fixture != null) {
+                leases.put(pool, fixture);
+            }
+        }
+        return () -> {
+            leases.forEach(FixturePool::bindLease);
+            return FixturePool::releaseThread;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void bindLease(FixturePool<T> pool, Object fixture) {
+        pool.leased.set((T) fixture);
+    }
+
+    /** Deletes every fixture still outstanding, concurrently, and stops the pool. */
+    public void cleanup() {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        int abandoned = 0;
+        CompletableFuture<T> pending;
+        while ((pending = available.poll()) != null) {
+            try {
+                pending.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                abandoned++;
+            } catch (ExecutionException e) {
+                // already reported to the test that would have leased it, or never needed
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (abandoned > 0) {
+            LOG.warn("Gave up on {} {} fixture(s) still being created; they are not cleaned up", abandoned, name);
+        }
+        List<T> leftovers = new ArrayList<>(outstanding);
+        outstanding.clear();
+
+        if (cleaner != null && !leftovers.isEmpty()) {
+            AtomicInteger cleaned = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+            CompletableFuture<Void> batch = CompletableFuture.allOf(leftovers.stream()
+                    .map(fixture -> CompletableFuture.runAsync(() -> {
+                        cleaner.accept(fixture);
+                        cleaned.incrementAndGet();
+                    }, executor).exceptionally(e -> {
+                        failures.incrementAndGet();
+                        LOG.warn("Failed to clean up {} fixture {}: {}", name, fixture, e.getMessage());
+                        return null;
+                    }))
+                    .toArray(CompletableFuture[]::new));
+            try {
+                batch.get(TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Individual failures are counted above; what is left never answered
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int unfinished = leftovers.size() - cleaned.get() - failures.get();
+            LOG.info("Cleaned up {} {} fixture(s), {} failed, {} timed out", cleaned.get(), name, failures.get(),
+                    unfinished);
+        }
+        executor.shutdownNow();
+        POOLS.remove(this);
+    }
+
+    private T create() {
+        T fixture = factory.get();
+        outstanding.add(fixture);
+        return fixture;
+    }
+
+    private T join(CompletableFuture<T> future) {
+        try {
+            return future.get(TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new IllegalStateException("Failed to create a " + name + " fixture", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("No " + name + " fixture was created within "
+                    + TimeUnit.NANOSECONDS.toSeconds(TIMEOUT_NANOS) + " s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + name + " fixture", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.restassured.demo.config;
+
+import com.restassured.demo.filters.StreamingBodyFilter;
+import com.restassured.demo.metrics.RequestTiming;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.BasicClientConnectionManager;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends RestAssured's requests through the JDK's {@link HttpClient} instead of the
+ * Apache connection pool, so concurrent requests to a host share one HTTP/2
+ * connection as separate streams - h2 over TLS, h2c by upgrade over cleartext -
+ * and servers without HTTP/2 are still spoken to over HTTP/1.1. Specifications,
+ * filters and the {@code given()/when()/then()} style are unchanged: RestAssured
+ * gets a client whose {@code execute} hands the request it built to the JDK client
+ * and adapts the answer back. Select it with {@code -Dhttp.transport=http2}.
+ *
+ * <p>Uses the same timeout properties as {@link HttpConnectionPool} and the same
+ * relaxed certificate checks. Interceptors registered on the Apache client are
+ * not run, so a spec that asks for compressed responses gets them as sent.
+ */
+// RestAssured 5.3 only accepts HttpClient 4's deprecated DefaultHttpClient, so the adapter has to extend it
+@SuppressWarnings("deprecation")
+public class Http2Transport {
+    // Set by the JDK client itself; it refuses them on requests
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade", "transfer-encoding");
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+
+    private final Duration requestTimeout;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    // RestAssured configures (and shuts down) the client's connection manager; this one never connects
+    private final BasicClientConnectionManager unusedConnections = new BasicClientConnectionManager();
+
+    public Http2Transport(int connectTimeoutMillis, int socketTimeoutMillis) {
+        this.requestTimeout = Duration.ofMillis(socketTimeoutMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "http2-transport-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .sslContext(HttpConnectionPool.trustAllContext())
+                .executor(executor)
+                .build();
+    }
+
+    public static Http2Transport fromSystemProperties() {
+        return new Http2Transport(
+                Integer.getInteger("http.connectTimeoutMs", 10_000),
+                Integer.getInteger("http.socketTimeoutMs", 30_000));
+    }
+
+    /** RestAssured client configuration whose clients all send through this transport. */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig().httpClientFactory(TransportClient::new);
+    }
+
+    /**
+     * Sends one request to {@code baseUri}, so the connection - with its TLS handshake
+     * or h2c upgrade - is negotiated before the first test. Any response will do.
+     */
+    public void warmUp(String baseUri) throws IOException {
+        java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder(URI.create(baseUri + "/"))
+                .timeout(requestTimeout)
+                .build();
+        try {
+            record(client.send(request, BodyHandlers.discarding()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while connecting to " + baseUri);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(requests.sum(), http2Responses.sum());
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        unusedConnections.shutdown();
+    }
+
+    private CloseableHttpResponse send(URI uri, HttpRequest request) throws IOException {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri).timeout(requestTimeout);
+        for (Header header : request.getAllHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        BodyPublisher body = BodyPublishers.noBody();
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                byte[] bytes = EntityUtils.toByteArray(entity);
+                if (entity.getContentType() != null && !request.containsHeader("Content-Type")) {
+                    builder.header("Content-Type", entity.getContentType().getValue());
+                }
+                body = BodyPublishers.ofByteArray(bytes);
+                RequestTiming.sent(bytes.length);
+            }
+        }
+        builder.method(request.getRequestLine().getMethod(), body);
+
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(builder.build(), BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + uri);
+        }
+        RequestTiming.firstByte();
+        record(response);
+        return adapt(response);
+    }
+
+    private void record(HttpResponse<?> response) {
+        requests.increment();
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+    }
+
+    private static CloseableHttpResponse adapt(HttpResponse<InputStream> response) throws IOException {
+        int status = response.statusCode();
+        ProtocolVersion version = response.version() == HttpClient.Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1;
+        TransportResponse adapted = new TransportResponse(version, status);
+        // HTTP/2 pseudo-headers such as :status are not headers to RestAssured
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                values.forEach(value -> adapted.addHeader(name, value));
+            }
+        });
+
+        // Like the pool, only streamed successful responses keep their body on the connection
+        AbstractHttpEntity entity;
+        if (StreamingBodyFilter.isActive() && status < 300) {
+            long length = response.headers().firstValueAsLong("content-length").orElse(-1);
+            entity = new InputStreamEntity(response.body(), length);
+        } else {
+            try (InputStream in = response.body()) {
+                entity = new ByteArrayEntity(in.readAllBytes());
+            }
+        }
+        response.headers().firstValue("content-type").ifPresent(entity::setContentType);
+        response.headers().firstValue("content-encoding").ifPresent(entity::setContentEncoding);
+        RequestTiming.received(entity.getContentLength());
+        adapted.setEntity(entity);
+        return adapted;
+    }
+
+    /** Responses by protocol; anything not HTTP/2 fell back to HTTP/1.1. */
+    public static class Stats {
+        private final long requests;
+        private final long http2Responses;
+
+        Stats(long requests, long http2Responses) {
+            this.requests = requests;
+            this.http2Responses = http2Responses;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getHttp2Responses() {
+            return http2Responses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d over HTTP/2, %d over HTTP/1.1", requests, http2Responses,
+                    requests - http2Responses);
+        }
+    }
+
+    /**
+     * What RestAssured takes for an Apache client. Every way of executing a request
+     * ends up in {@link #send}; the inherited request pipeline is never reached.
+     */
+    private class TransportClient extends DefaultHttpClient {
+        TransportClient() {
+            super(unusedConnections);
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpUriRequest request) throws IOException {
+            return send(request.getURI(), request);
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+            return send(request.getURI(), request);
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpHost target, HttpRequest request) throws IOException {
+            return execute(target, request, (HttpContext) null);
+        }
+
+        @Override
+        public CloseableHttpResponse execute(HttpHost target, HttpRequest request, HttpContext context)
+                throws IOException {
+            URI uri = request instanceof HttpUriRequest ? ((HttpUriRequest) request).getURI()
+                    : URI.create(request.getRequestLine().getUri());
+            return send(uri.isAbsolute() || target == null ? uri : URI.create(target.toURI() + uri), request);
+        }
+    }
+
+    private static class TransportResponse extends BasicHttpResponse implements CloseableHttpResponse {
+        TransportResponse(ProtocolVersion version, int status) {
+            super(new BasicStatusLine(version, status, EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH)));
+        }
+
+        // Closing an unread streamed body cancels its HTTP/2 stream
+        @Override
+        public void close() throws IOException {
+            HttpEntity entity = getEntity();
+            if (entity != null && entity.isStreaming()) {
+                entity.getContent().close();
+            }
+        }
+    }
+}
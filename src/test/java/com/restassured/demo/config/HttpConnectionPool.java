@@ -0,0 +1,327 @@
+package com.restassured.demo.config;
+
+import com.restassured.demo.filters.StreamingBodyFilter;
+import com.restassured.demo.metrics.RequestTiming;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One keep-alive connection pool shared by every RestAssured request in the JVM.
+ * RestAssured asks its client factory for a new client per request; each of those
+ * clients is a thin {@link DefaultHttpClient} over the same pooling manager, so
+ * connections (and, through one shared trust-all {@link SSLContext}, TLS sessions)
+ * are reused across tests and threads.
+ *
+ * <p>Tuned through system properties:
+ * <ul>
+ *   <li>{@code http.pool.maxTotal} / {@code http.pool.maxPerRoute} - pool limits (50 / 20)</li>
+ *   <li>{@code http.pool.idleTimeoutSeconds} - idle connections are evicted after this (30)</li>
+ *   <li>{@code http.keepAliveSeconds} - keep-alive when the server sends no Keep-Alive timeout (30)</li>
+ *   <li>{@code http.connectTimeoutMs} / {@code http.socketTimeoutMs} - (10000 / 30000)</li>
+ * </ul>
+ */
+// RestAssured 5.3 only accepts HttpClient 4's deprecated DefaultHttpClient and connection manager APIs
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final LongAdder resumedHandshakes = new LongAdder();
+
+    private final int connectTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final long keepAliveMillis;
+    private final SharedConnectionManager manager;
+    private final ScheduledExecutorService evictor;
+
+    public HttpConnectionPool(int maxTotal, int maxPerRoute, long idleTimeoutSeconds, long keepAliveSeconds,
+                              int connectTimeoutMillis, int socketTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.keepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+        schemes.register(new Scheme("https", 443, new CountingSSLSocketFactory(trustAllContext())));
+        manager = new SharedConnectionManager(schemes);
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(idleTimeoutSeconds, 5));
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }, period, period, TimeUnit.SECONDS);
+    }
+
+    public static HttpConnectionPool fromSystemProperties() {
+        return new HttpConnectionPool(
+                Integer.getInteger("http.pool.maxTotal", 50),
+                Integer.getInteger("http.pool.maxPerRoute", 20),
+                Long.getLong("http.pool.idleTimeoutSeconds", 30),
+                Long.getLong("http.keepAliveSeconds", 30),
+                Integer.getInteger("http.connectTimeoutMs", 10_000),
+                Integer.getInteger("http.socketTimeoutMs", 30_000));
+    }
+
+    /** RestAssured client configuration whose clients all draw from this pool. */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMillis)
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, socketTimeoutMillis)
+                .httpClientFactory(this::newClient);
+    }
+
+    private DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(manager);
+        client.setKeepAliveStrategy(keepAliveStrategy());
+        client.addRequestInterceptor((request, context) -> {
+            if (request instanceof HttpEntityEnclosingRequest) {
+                HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+                RequestTiming.sent(entity == null ? 0 : entity.getContentLength());
+            }
+        });
+        // A body RestAssured never reads would pin its connection; buffering it hands the connection straight back.
+        // Streamed requests keep successful bodies on the connection until the test closes them.
+        client.addResponseInterceptor((response, context) -> {
+            RequestTiming.firstByte();
+            HttpEntity entity = response.getEntity();
+            boolean streamed = StreamingBodyFilter.isActive() && response.getStatusLine().getStatusCode() < 300;
+            if (entity != null && entity.isStreaming() && !streamed) {
+                entity = new BufferedHttpEntity(entity);
+                response.setEntity(entity);
+            }
+            RequestTiming.received(entity == null ? 0 : entity.getContentLength());
+        });
+        return client;
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> {
+            BasicHeaderElementIterator elements = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (elements.hasNext()) {
+                HeaderElement element = elements.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Long.parseLong(element.getValue()) * 1000;
+                    } catch (NumberFormatException ignored) {
+                        // fall back to the configured keep-alive
+                    }
+                }
+            }
+            return keepAliveMillis;
+        };
+    }
+
+    /**
+     * Opens a connection to {@code baseUri} - including the TLS handshake for https -
+     * and returns it to the pool, so the first request of the suite finds it ready.
+     * The route matches the one RestAssured's requests to that URI take.
+     */
+    public void warmUp(String baseUri) throws IOException {
+        HttpHost target = URIUtils.extractHost(URI.create(baseUri));
+        if (target == null) {
+            throw new IllegalArgumentException("No host in " + baseUri);
+        }
+        HttpRoute route = new HttpRoute(target, null, manager.getSchemeRegistry().getScheme(target).isLayered());
+        ManagedClientConnection connection;
+        try {
+            connection = manager.requestConnection(route, null).getConnection(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while leasing a connection to " + baseUri, e);
+        }
+        try {
+            if (!connection.isOpen()) {
+                BasicHttpParams params = new BasicHttpParams();
+                params.setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, connectTimeoutMillis);
+                params.setIntParameter(CoreConnectionPNames.SO_TIMEOUT, socketTimeoutMillis);
+                connection.open(route, new BasicHttpContext(), params);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Aborting hands the lease back without keeping the broken connection
+            connection.abortConnection();
+            throw e;
+        }
+        connection.markReusable();
+        manager.releaseConnection(connection, keepAliveMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Stats stats() {
+        return new Stats(leases.sum(), opened.sum(), handshakes.sum(), resumedHandshakes.sum());
+    }
+
+    public void shutdown() {
+        evictor.shutdownNow();
+        manager.close();
+    }
+
+    static SSLContext trustAllContext() {
+        // Replaces RestAssured's per-request relaxed HTTPS validation with one shared context
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {trustAll}, new SecureRandom());
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to create SSL context", e);
+        }
+    }
+
+    /** Pool counters; a lease that did not open a connection reused a pooled one. */
+    public static class Stats {
+        private final long leases;
+        private final long opened;
+        private final long handshakes;
+        private final long resumedHandshakes;
+
+        Stats(long leases, long opened, long handshakes, long resumedHandshakes) {
+            this.leases = leases;
+            this.opened = opened;
+            this.handshakes = handshakes;
+            this.resumedHandshakes = resumedHandshakes;
+        }
+
+        public long getLeases() {
+            return leases;
+        }
+
+        public long getHits() {
+            return Math.max(0, leases - opened);
+        }
+
+        public long getMisses() {
+            return opened;
+        }
+
+        public long getHandshakes() {
+            return handshakes;
+        }
+
+        public long getResumedHandshakes() {
+            return resumedHandshakes;
+        }
+
+        @Override
+        public String toString() {
+            double hitRate = leases == 0 ? 0 : 100.0 * getHits() / leases;
+            return String.format("%d leases, %d reused / %d opened (%.1f%% hit rate), %d TLS handshakes (%d resumed)",
+                    leases, getHits(), opened, hitRate, handshakes, resumedHandshakes);
+        }
+    }
+
+    /**
+     * RestAssured may shut down the connection manager of the client it used; the
+     * shared pool ignores that and is only closed by {@link #shutdown()}.
+     */
+    private class SharedConnectionManager extends PoolingClientConnectionManager {
+        SharedConnectionManager(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            leases.increment();
+            return super.requestConnection(route, state);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+            return new DefaultClientConnectionOperator(schemes) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    opened.increment();
+                    long start = System.nanoTime();
+                    super.openConnection(connection, target, local, context, params);
+                    RequestTiming.connected(System.nanoTime() - start);
+                }
+            };
+        }
+
+        @Override
+        public void shutdown() {
+            // shared across clients, see HttpConnectionPool#shutdown
+        }
+
+        void close() {
+            super.shutdown();
+        }
+    }
+
+    private class CountingSSLSocketFactory extends SSLSocketFactory {
+        CountingSSLSocketFactory(SSLContext context) {
+            super(context, SSLSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER);
+        }
+
+        @Override
+        protected void prepareSocket(SSLSocket socket) {
+            long started = System.currentTimeMillis();
+            socket.addHandshakeCompletedListener(event -> {
+                handshakes.increment();
+                // A resumed session keeps the creation time of the handshake that first negotiated it
+                if (event.getSession().getCreationTime() < started) {
+                    resumedHandshakes.increment();
+                }
+            });
+        }
+    }
+}
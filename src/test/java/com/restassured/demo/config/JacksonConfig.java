@@ -0,0 +1,65 @@
+package com.restassured.demo.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.restassured.config.ObjectMapperConfig;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one ObjectMapper used for request and response bodies. RestAssured's default
+ * factory builds a new mapper for every body it maps; this one is configured once,
+ * uses Blackbird's generated accessors instead of reflection, and hands out cached
+ * readers and writers per type. Unknown response fields are ignored so the models
+ * only need the fields the tests use.
+ */
+public final class JacksonConfig {
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final Map<Type, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Type, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private JacksonConfig() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectReader reader(Type type) {
+        return READERS.computeIfAbsent(type, key -> MAPPER.readerFor(javaType(key)));
+    }
+
+    public static ObjectWriter writer(Type type) {
+        return WRITERS.computeIfAbsent(type, key -> MAPPER.writerFor(javaType(key)));
+    }
+
+    /**
+     * Builds the readers and writers of {@code types} - and with them the serializers,
+     * deserializers and Blackbird accessors the mapper caches - before the first body needs them.
+     */
+    public static void warmUp(Type... types) {
+        for (Type type : types) {
+            reader(type);
+            writer(type);
+        }
+    }
+
+    /** RestAssured configuration that maps every body with the shared mapper. */
+    public static ObjectMapperConfig objectMapperConfig() {
+        return ObjectMapperConfig.objectMapperConfig().jackson2ObjectMapperFactory((type, charset) -> MAPPER);
+    }
+
+    private static JavaType javaType(Type type) {
+        return MAPPER.getTypeFactory().constructType(type);
+    }
+}
@@ -0,0 +1,90 @@
+package com.restassured.demo.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The slice of the suite this JVM runs, selected with {@code -Dshard=i/N} (1-based).
+ * Work items - test classes and data rows - are assigned by a stable hash of their
+ * name, so every fork or agent given the same N agrees on the split without any
+ * coordination, and each item runs on exactly one shard.
+ *
+ * <p>Shard outputs go to {@code test-output/shards/i-of-N/} so several shards can
+ * share a workspace; {@code ShardMerger} combines them afterwards.
+ */
+public final class Shard {
+    private static final Shard CURRENT = parse(System.getProperty("shard"));
+
+    private final int index;
+    private final int total;
+
+    private Shard(int index, int total) {
+        this.index = index;
+        this.total = total;
+    }
+
+    public static Shard current() {
+        return CURRENT;
+    }
+
+    /** Parses {@code i/N}; null or empty means the whole suite. */
+    public static Shard parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return new Shard(1, 1);
+        }
+        String[] parts = spec.trim().split("/");
+        try {
+            if (parts.length == 2) {
+                int index = Integer.parseInt(parts[0].trim());
+                int total = Integer.parseInt(parts[1].trim());
+                if (total >= 1 && index >= 1 && index <= total) {
+                    return new Shard(index, total);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid shard '" + spec + "', expected i/N with 1 <= i <= N");
+    }
+
+    public boolean isSharded() {
+        return total > 1;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /** Whether the work item named {@code key} belongs to this shard. */
+    public boolean owns(String key) {
+        return !isSharded() || Math.floorMod(mix(key.hashCode()), total) == index - 1;
+    }
+
+    /** Where this shard writes {@code file}: unchanged when unsharded, else {@code <dir>/shards/i-of-N/<name>}. */
+    public Path outputFile(String file) {
+        Path path = Paths.get(file);
+        return isSharded() ? path.resolveSibling(Paths.get("shards", getLabel(), path.getFileName().toString())) : path;
+    }
+
+    public String getLabel() {
+        return index + "-of-" + total;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + total;
+    }
+
+    // String.hashCode is fixed by the JLS; the finalizer spreads similar class names across shards
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,34 +1,191 @@
 package com.restassured.demo.config;
 
+import com.restassured.demo.filters.AuthFilter;
+import com.restassured.demo.filters.LatencyFilter;
+import com.restassured.demo.filters.LogCaptureFilter;
+import com.restassured.demo.filters.RateLimitFilter;
+import com.restassured.demo.filters.ResponseCacheFilter;
+import com.restassured.demo.filters.StreamingBodyFilter;
+import com.restassured.demo.metrics.EndpointLatencies;
+import com.restassured.demo.metrics.LatencySamples;
+import com.restassured.demo.metrics.StartupProfile;
+import com.restassured.demo.metrics.TestResources;
+import com.restassured.demo.models.ApiResponse;
+import com.restassured.demo.models.EmrRoundSchedule;
+import com.restassured.demo.models.LoginRequest;
+import com.restassured.demo.models.Post;
+import com.restassured.demo.models.ShiftNote;
+import com.restassured.demo.models.TwoFactorVerify;
+import com.restassured.demo.simulator.ApiSimulator;
+import com.restassured.demo.utils.ExcelDataReader;
+import com.restassured.demo.utils.ExtentReportManager;
+import com.restassured.demo.utils.SchemaRegistry;
+import com.restassured.demo.utils.TestData;
+import com.restassured.demo.utils.ThreadBinding;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+
 public class TestConfig {
-    protected static RequestSpecification requestSpec;
-    protected static ResponseSpecification responseSpec;
+    private static final Logger LOG = LoggerFactory.getLogger(TestConfig.class);
+
+    // Built once per suite and only read afterwards, so they can be shared by parallel threads
+    protected static volatile RequestSpecification requestSpec;
+    protected static volatile ResponseSpecification responseSpec;
+    protected static volatile RequestSpecification authSpec;
+    // Opt-in GET memoization for verification steps: given().spec(authSpec).spec(memoizedSpec)
+    protected static volatile RequestSpecification memoizedSpec;
+    // Successful bodies stay on the connection for JsonStream: given().spec(streamingSpec)
+    protected static volatile RequestSpecification streamingSpec;
+    // Response contracts checked against schemas compiled once at suite start: .then().spec(shiftNoteContract)
+    protected static volatile ResponseSpecification loginContract;
+    protected static volatile ResponseSpecification shiftNoteContract;
+    protected static volatile ResponseSpecification shiftNotesClientsContract;
+    protected static volatile ResponseSpecification emrRoundContract;
+    protected static volatile ResponseSpecification emrPastRoundsContract;
     
-    protected static final String BASE_URI = "https://test-dummy.website.com";
+    protected static final String BASE_URI = System.getProperty("api.baseUri", "https://test-dummy.website.com");
     protected static final String AUTH_ENDPOINT = "/api/auth/login";
 
-    @BeforeSuite
+    // -Dapi.simulator=true serves every endpoint from an in-process simulator instead of BASE_URI
+    protected static final boolean USE_SIMULATOR = Boolean.getBoolean("api.simulator");
+    // -Dcontracts=false leaves the contract specifications empty
+    private static final boolean VALIDATE_CONTRACTS = Boolean.parseBoolean(System.getProperty("contracts", "true"));
+    private static ApiSimulator simulator;
+    private static volatile String baseUri = BASE_URI;
+
+    // Keep-alive connections shared by every request; tuned with -Dhttp.pool.* (see HttpConnectionPool)
+    private static volatile HttpConnectionPool connections;
+    // -Dhttp.transport=http2 sends requests as HTTP/2 streams through the JDK client instead (see Http2Transport)
+    private static final boolean HTTP2_TRANSPORT = "http2".equalsIgnoreCase(System.getProperty("http.transport", "apache"));
+    private static volatile Http2Transport http2;
+    // Runs the calls tests fan out with async(); sized with -Dhttp.async.threads
+    private static volatile ExecutorService asyncCalls;
+    // Backs off on 429/503 per endpoint group and retries idempotent calls; tuned with -Dratelimit.* (see RateLimitFilter)
+    private static volatile RateLimitFilter rateLimiter;
+
+    // Tokens are shared by every test class in the suite
+    protected static final AuthSessionManager SESSIONS = new AuthSessionManager(AUTH_ENDPOINT);
+    protected static final LoginRequest DEFAULT_CREDENTIALS =
+            credentials("dummy.test@gmail.com", "dummyTestPassword123!", "Asia/Manila");
+
+    // Shift notes (by id) and scheduled EMR rounds created at suite start and leased one per test;
+    // sized with -Dfixtures.shiftNotes / -Dfixtures.rounds
+    protected static volatile FixturePool<Integer> shiftNotes;
+    protected static volatile FixturePool<EmrRoundSchedule> scheduledRounds;
+
+    // Request and response bodies the tests map, primed while the suite starts
+    private static final Type[] BODY_TYPES = {LoginRequest.class, TwoFactorVerify.class, ShiftNote.class,
+            EmrRoundSchedule.class, Post.class, new TypeRef<ApiResponse<ShiftNote>>() {}.getType(),
+            new TypeRef<ApiResponse<String>>() {}.getType()};
+    private static final List<String> CONTRACT_SCHEMAS = List.of("login.schema.json", "shift-note.schema.json",
+            "shift-notes-clients.schema.json", "emr-round.schema.json", "emr-past-rounds.schema.json");
+
+    private static final Object SETUP_LOCK = new Object();
+    private static boolean initialized;
+
+    @BeforeSuite(alwaysRun = true)
     public void setup() {
-        // Relax SSL verification for testing
-        RestAssured.useRelaxedHTTPSValidation();
-        
+        // Every test class inherits this hook; only the first invocation configures the suite
+        synchronized (SETUP_LOCK) {
+            if (!initialized) {
+                // Each step is timed for the "Startup" entry of the report (see StartupProfile)
+                StartupProfile startup = StartupProfile.suite();
+                if (USE_SIMULATOR) {
+                    startup.time("Start API simulator", () -> {
+                        simulator = ApiSimulator.fromSystemProperties().start();
+                        baseUri = simulator.getBaseUri();
+                    });
+                }
+                connections = startup.time("Create connection pool", HttpConnectionPool::fromSystemProperties);
+                if (HTTP2_TRANSPORT) {
+                    http2 = startup.time("Create HTTP/2 transport", Http2Transport::fromSystemProperties);
+                }
+                asyncCalls = asyncExecutor(Integer.getInteger("http.async.threads", 16));
+                rateLimiter = limitsRequestRate() ? RateLimitFilter.fromSystemProperties(TestConfig::endpointGroup) : null;
+                startup.concurrently("Warm-up", warmUpSteps(writesReport()));
+                boolean provision = provisionsFixtures();
+                startup.time("Start provisioning fixtures", () -> configureFixtures(provision));
+                initialized = true;
+            }
+        }
+    }
+
+    // Independent of each other, so they run side by side instead of inside the first tests;
+    // the specifications only wait for a schema another step is still compiling
+    private static Map<String, Runnable> warmUpSteps(boolean report) {
+        Map<String, Runnable> steps = new LinkedHashMap<>();
+        steps.put("Build request specifications", TestConfig::configureSpecifications);
+        steps.put("Connect to " + baseUri, TestConfig::warmUpConnection);
+        steps.put("Prime Jackson serializers", () -> JacksonConfig.warmUp(BODY_TYPES));
+        if (VALIDATE_CONTRACTS) {
+            steps.put("Compile response schemas", () -> CONTRACT_SCHEMAS.forEach(SchemaRegistry.suite()::get));
+        }
+        steps.put("Load Excel test data", ExcelDataReader::preload);
+        if (report) {
+            steps.put("Open report event log", ExtentReportManager::getEventLog);
+        }
+        return steps;
+    }
+
+    private static void warmUpConnection() {
+        try {
+            if (http2 != null) {
+                http2.warmUp(baseUri);
+            } else {
+                connections.warmUp(baseUri);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The first test that calls the API reports it properly
+            LOG.warn("Could not connect to {} ahead of the tests: {}", baseUri, e.getMessage());
+        }
+    }
+
+    private static void configureSpecifications() {
+        // Pooled connections and the shared ObjectMapper; the pool's SSL context also relaxes certificate checks for testing
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(http2 != null ? http2.httpClientConfig() : connections.httpClientConfig())
+                .objectMapperConfig(JacksonConfig.objectMapperConfig());
+        RestAssured.config = config;
+
         // Configure base request specification
-        requestSpec = new RequestSpecBuilder()
-                .setBaseUri(BASE_URI)
+        RequestSpecBuilder request = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(config)
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
-                .addFilter(new RequestLoggingFilter())
-                .addFilter(new ResponseLoggingFilter())
-                .build();
+                .addFilter(new LogCaptureFilter())
+                .addFilter(new LatencyFilter(EndpointLatencies.suite()))
+                .addFilter(ResponseCacheFilter.invalidating());
+        if (rateLimiter != null) {
+            request.addFilter(rateLimiter);
+        }
+        requestSpec = request.build();
 
         // Configure base response specification
         responseSpec = new ResponseSpecBuilder()
@@ -37,5 +194,220 @@ public class TestConfig {
         // Set default specifications
         RestAssured.requestSpecification = requestSpec;
         RestAssured.responseSpecification = responseSpec;
+
+        // Requests made with this spec are authenticated automatically
+        authSpec = new RequestSpecBuilder()
+                .addFilter(new AuthFilter(SESSIONS, DEFAULT_CREDENTIALS))
+                .build();
+
+        // Responses stay fresh for -Dcache.maxAgeMillis, then are revalidated by ETag
+        memoizedSpec = new RequestSpecBuilder()
+                .addFilter(ResponseCacheFilter.memoizing(Duration.ofMillis(Long.getLong("cache.maxAgeMillis", 2000))))
+                .build();
+
+        streamingSpec = new RequestSpecBuilder()
+                .addFilter(new StreamingBodyFilter())
+                .build();
+
+        loginContract = contract("login.schema.json");
+        shiftNoteContract = contract("shift-note.schema.json");
+        shiftNotesClientsContract = contract("shift-notes-clients.schema.json");
+        emrRoundContract = contract("emr-round.schema.json");
+        emrPastRoundsContract = contract("emr-past-rounds.schema.json");
+    }
+
+    private static ResponseSpecification contract(String schema) {
+        ResponseSpecBuilder contract = new ResponseSpecBuilder();
+        if (VALIDATE_CONTRACTS) {
+            contract.expectBody(SchemaRegistry.suite().get(schema));
+        }
+        return contract.build();
+    }
+
+    private static void configureFixtures(boolean provision) {
+        shiftNotes = new FixturePool<>("shift-note", TestConfig::createShiftNote, TestConfig::archiveShiftNote);
+        // The API has no way to delete a scheduled round
+        scheduledRounds = new FixturePool<>("emr-round", TestConfig::scheduleRound, null);
+        if (provision) {
+            shiftNotes.provision(Integer.getInteger("fixtures.shiftNotes", 3));
+            scheduledRounds.provision(Integer.getInteger("fixtures.rounds", 1));
+        }
+    }
+
+    /** Whether requests go through the adaptive rate limiter; load runs measure the server unthrottled. */
+    protected boolean limitsRequestRate() {
+        return true;
+    }
+
+    // Endpoints the API rate-limits together
+    private static String endpointGroup(String path) {
+        String resource = path.replaceFirst("^/(api/auth/)?", "");
+        int end = resource.indexOf('/');
+        resource = end < 0 ? resource : resource.substring(0, end);
+        switch (resource) {
+            case "login":
+            case "retrieve-two-factor-code":
+            case "verify-two-factor-auth":
+                return "auth";
+            case "shift-notes-clients":
+                return "shift-notes";
+            default:
+                return resource;
+        }
+    }
+
+    /**
+     * Whether setup opens the report event log, which starts test-output/extent-events.jsonl
+     * afresh; benchmarks return false so the last functional run's report survives them.
+     */
+    protected boolean writesReport() {
+        return true;
+    }
+
+    /** Whether setup pre-provisions fixtures; runs that never lease them (load, benchmarks) return false. */
+    protected boolean provisionsFixtures() {
+        return true;
+    }
+
+    private static Integer createShiftNote() {
+        return given()
+                .spec(authSpec)
+                .contentType(ContentType.JSON)
+                .body(TestData.shiftNotePayload())
+            .when()
+                .post("/api/auth/shift-notes")
+            .then()
+                .statusCode(201)
+                .spec(shiftNoteContract)
+                .extract()
+                .as(new TypeRef<ApiResponse<ShiftNote>>() {})
+                .getResults()
+                .getId();
+    }
+
+    private static void archiveShiftNote(Integer noteId) {
+        given()
+                .spec(authSpec)
+                .pathParam("noteId", noteId)
+            .when()
+                .delete("/api/auth/shift-notes/{noteId}")
+            .then()
+                .statusCode(200);
+    }
+
+    private static EmrRoundSchedule scheduleRound() {
+        EmrRoundSchedule schedule = TestData.schedulePayload();
+        given()
+                .spec(authSpec)
+                .contentType(ContentType.JSON)
+                .body(schedule)
+            .when()
+                .post("/api/auth/rounds/emr-rounds")
+            .then()
+                .statusCode(201)
+                .spec(emrRoundContract);
+        return schedule;
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void tearDown() {
+        synchronized (SETUP_LOCK) {
+            if (initialized) {
+                // Leftover fixtures are deleted while the session and connections are still up
+                shiftNotes.cleanup();
+                scheduledRounds.cleanup();
+                SESSIONS.shutdown();
+                LOG.info("HTTP connection pool: {}", connections.stats());
+                if (rateLimiter != null) {
+                    rateLimiter.stats().forEach((group, stats) -> LOG.info("Rate limiting of {}: {}", group, stats));
+                }
+                connections.shutdown();
+                if (http2 != null) {
+                    LOG.info("HTTP/2 transport: {}", http2.stats());
+                    http2.shutdown();
+                    http2 = null;
+                }
+                asyncCalls.shutdownNow();
+                if (simulator != null) {
+                    simulator.stop();
+                    simulator = null;
+                    baseUri = BASE_URI;
+                }
+                initialized = false;
+            }
+        }
+    }
+
+    /**
+     * Starts {@code call} - typically a whole {@code given()/when()/then()} chain - on
+     * the shared async pool, so a test can fan out independent requests such as
+     * read-back checks and wait for them with {@link #awaitAll}. Over the HTTP/2
+     * transport they travel as concurrent streams on one connection. The call runs
+     * in the calling test's context: its report entry, captured HTTP exchanges,
+     * response cache, latency samples, resource usage and fixture leases.
+     */
+    protected static <T> CompletableFuture<T> async(Supplier<T> call) {
+        List<ThreadBinding> context = List.of(ExtentReportManager.capture(), LogCaptureFilter.capture(),
+                ResponseCacheFilter.capture(), LatencySamples.capture(), TestResources.capture(),
+                FixturePool.captureLeases());
+        return CompletableFuture.supplyAsync(() -> {
+            List<Runnable> unbind = new ArrayList<>(context.size());
+            try {
+                context.forEach(binding -> unbind.add(binding.bind()));
+                return call.get();
+            } finally {
+                // Pool threads serve every test; nothing of this one may stay behind
+                unbind.forEach(Runnable::run);
+            }
+        }, asyncCalls);
+    }
+
+    /** Waits for every call and rethrows a failure - e.g. an AssertionError - as the call threw it. */
+    protected static void awaitAll(CompletableFuture<?>... calls) {
+        try {
+            CompletableFuture.allOf(calls).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ExecutorService asyncExecutor(int threads) {
+        AtomicInteger created = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "async-call-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** The base URI requests are actually sent to: BASE_URI, or the simulator when enabled. */
+    public static String getBaseUri() {
+        return baseUri;
+    }
+
+    /** Reuse counters of the shared connection pool, or null outside a suite. */
+    public static HttpConnectionPool.Stats getConnectionStats() {
+        HttpConnectionPool pool = connections;
+        return pool == null ? null : pool.stats();
+    }
+
+    /** Throttle and retry counters per endpoint group, or an empty map when rate limiting is off. */
+    public static Map<String, RateLimitFilter.Stats> getRateLimitStats() {
+        RateLimitFilter limiter = rateLimiter;
+        return limiter == null ? Map.of() : limiter.stats();
+    }
+
+    protected static LoginRequest credentials(String email, String password, String timezone) {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+        loginRequest.setTimezone(timezone);
+        return loginRequest;
     }
 } 
\ No newline at end of file
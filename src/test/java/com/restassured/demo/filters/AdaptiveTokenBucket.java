@@ -0,0 +1,86 @@
+package com.restassured.demo.filters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket whose rate follows AIMD: every answered request raises it a little
+ * (about {@code increasePerSecond} per second at the current rate), every 429/503
+ * halves it - from the throughput actually achieved, if that is lower than the
+ * configured rate - and a Retry-After pauses the whole bucket. Permits are handed
+ * out as time slots, so callers wait outside the lock and in arrival order.
+ */
+class AdaptiveTokenBucket {
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSecond;
+    private final int burst;
+
+    private double rate;
+    private long nextSlot;
+    private long pausedUntil;
+    private long lastDecrease;
+    private long windowStart;
+    private int windowPermits;
+    private double observedRate;
+
+    AdaptiveTokenBucket(double minRate, double maxRate, double increasePerSecond, int burst) {
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increasePerSecond = increasePerSecond;
+        this.burst = burst;
+        this.rate = maxRate;
+        long now = System.nanoTime();
+        this.nextSlot = now;
+        this.windowStart = now;
+        this.lastDecrease = now - DECREASE_COOLDOWN_NANOS;
+    }
+
+    /** Blocks until a permit is available; returns the nanoseconds spent waiting. */
+    long acquire() throws InterruptedException {
+        long wait = reserve(System.nanoTime());
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return Math.max(0, wait);
+    }
+
+    synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + increasePerSecond / Math.max(1, rate));
+    }
+
+    synchronized void onThrottled(long retryAfterNanos) {
+        long now = System.nanoTime();
+        if (retryAfterNanos > 0) {
+            pausedUntil = Math.max(pausedUntil, now + retryAfterNanos);
+        }
+        // Requests already in flight when the server pushed back report it too; back off once for all of them
+        if (now - lastDecrease >= DECREASE_COOLDOWN_NANOS) {
+            double achieved = observedRate > 0 ? Math.min(rate, observedRate) : rate;
+            rate = Math.max(minRate, achieved / 2);
+            lastDecrease = now;
+        }
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private synchronized long reserve(long now) {
+        if (now - windowStart >= SECOND) {
+            observedRate = windowPermits * (double) SECOND / (now - windowStart);
+            windowStart = now;
+            windowPermits = 0;
+        }
+        windowPermits++;
+
+        long interval = (long) (SECOND / rate);
+        // Unused slots accumulate up to the burst size, so an idle bucket serves a short burst at once
+        long slot = Math.max(nextSlot, now - interval * (burst - 1));
+        slot = Math.max(slot, pausedUntil);
+        nextSlot = slot + interval;
+        return slot - now;
+    }
+}
@@ -0,0 +1,63 @@
+package com.restassured.demo.filters;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AdaptiveTokenBucketTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test(description = "Throttling halves the rate once per cooldown, never below the minimum")
+    public void testMultiplicativeDecrease() {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(3, 20, 0, 1);
+
+        bucket.onThrottled(0);
+        assertThat(bucket.getRate(), equalTo(10.0));
+        // Same burst of 429s: the requests in flight do not each halve it again
+        bucket.onThrottled(0);
+        assertThat(bucket.getRate(), equalTo(10.0));
+
+        AdaptiveTokenBucket floored = new AdaptiveTokenBucket(8, 10, 0, 1);
+        floored.onThrottled(0);
+        assertThat(floored.getRate(), equalTo(8.0));
+    }
+
+    @Test(description = "Answered requests raise the rate by increasePerSecond / rate, up to the maximum")
+    public void testAdditiveIncrease() {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(1, 12, 10, 1);
+        bucket.onThrottled(0);
+        assertThat(bucket.getRate(), equalTo(6.0));
+
+        bucket.onSuccess();
+        assertThat(bucket.getRate(), closeTo(6 + 10 / 6.0, 1e-9));
+        for (int i = 0; i < 100; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.getRate(), equalTo(12.0));
+    }
+
+    @Test(description = "An idle bucket serves its burst at once, then paces permits at the rate")
+    public void testBurstThenPacing() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(1, 10, 0, 3);
+        // Idle long enough to accumulate the whole burst
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        long burstWait = bucket.acquire() + bucket.acquire() + bucket.acquire();
+        long paced = bucket.acquire();
+
+        assertThat(burstWait, lessThan(50 * MILLIS));
+        assertThat(paced, both(greaterThan(50 * MILLIS)).and(lessThanOrEqualTo(100 * MILLIS)));
+    }
+
+    @Test(description = "Retry-After pauses the bucket for at least that long")
+    public void testRetryAfterPauses() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(1000, 1000, 0, 10);
+
+        bucket.onThrottled(TimeUnit.MILLISECONDS.toNanos(200));
+
+        assertThat(bucket.acquire(), both(greaterThan(150 * MILLIS)).and(lessThanOrEqualTo(200 * MILLIS)));
+    }
+}
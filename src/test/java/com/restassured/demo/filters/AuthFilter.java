@@ -0,0 +1,49 @@
+package com.restassured.demo.filters;
+
+import com.restassured.demo.config.AuthSessionManager;
+import com.restassured.demo.models.LoginRequest;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Adds a bearer token from the shared {@link AuthSessionManager} to every request
+ * that does not set its own Authorization header. A 401 drops the cached token and
+ * the request is sent once more with a fresh one.
+ */
+public class AuthFilter implements Filter {
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final AuthSessionManager sessions;
+    private final LoginRequest credentials;
+
+    public AuthFilter(AuthSessionManager sessions, LoginRequest credentials) {
+        this.sessions = sessions;
+        this.credentials = credentials;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (requestSpec.getHeaders().hasHeaderWithName(AUTHORIZATION)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String token = sessions.getToken(credentials);
+        requestSpec.header(AUTHORIZATION, BEARER + token);
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.statusCode() != 401) {
+            return response;
+        }
+
+        sessions.invalidate(credentials, token);
+        FilterableRequestSpecification retry = RequestReplay.copyOf(requestSpec);
+        retry.removeHeader(AUTHORIZATION);
+        retry.header(AUTHORIZATION, BEARER + sessions.getToken(credentials));
+        return ctx.send(retry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.restassured.demo.filters;
+
+import com.restassured.demo.metrics.EndpointLatencies;
+import com.restassured.demo.metrics.LatencySamples;
+import com.restassured.demo.metrics.RequestTiming;
+import com.restassured.demo.metrics.TestResources;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Times every HTTP exchange against its templated endpoint, e.g.
+ * {@code GET /api/auth/shift-notes/{noteId}}. Runs last in the filter chain so
+ * only the exchange itself is measured, and a request re-sent by another filter
+ * is recorded as its own exchange. Statuses of 400 and above count as errors.
+ */
+public class LatencyFilter implements OrderedFilter {
+    private final EndpointLatencies latencies;
+
+    public LatencyFilter(EndpointLatencies latencies) {
+        this.latencies = latencies;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+        RequestTiming timing = RequestTiming.start();
+        boolean error = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            error = response.statusCode() >= 400;
+            return response;
+        } finally {
+            long elapsedNanos = timing.getElapsedNanos();
+            latencies.record(endpoint, timing, elapsedNanos, error);
+            LatencySamples.record(endpoint, elapsedNanos / 1000);
+            TestResources.recordExchange(timing, elapsedNanos);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,163 @@
+package com.restassured.demo.filters;
+
+import com.restassured.demo.utils.ThreadBinding;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Replacement for the request/response logging filters. Each exchange is kept in a
+ * bounded per-thread ring buffer instead of being printed, and the buffer is only
+ * rendered when a test fails (see {@code TestListener.onTestFailure}). Calls a test
+ * fans out to other threads record into the test's buffer through {@link #capture()}.
+ *
+ * <p>Limits are read from {@code log.capture.maxExchanges} and
+ * {@code log.capture.maxBodyChars}.
+ */
+public class LogCaptureFilter implements Filter {
+    private static final int MAX_EXCHANGES = Integer.getInteger("log.capture.maxExchanges", 20);
+    private static final int MAX_BODY_CHARS = Integer.getInteger("log.capture.maxBodyChars", 4096);
+
+    private static final ThreadLocal<RingBuffer> BUFFER = ThreadLocal.withInitial(() -> new RingBuffer(MAX_EXCHANGES));
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Exchange exchange = new Exchange(requestSpec.getMethod(), requestSpec.getURI(),
+                requestSpec.getHeaders().toString(), truncate(bodyOf(requestSpec.getBody())));
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            exchange.statusLine = response.getStatusLine();
+            exchange.responseHeaders = response.getHeaders().toString();
+            exchange.responseBody = StreamingBodyFilter.isActive() && response.statusCode() < 300
+                    ? "[streamed to the test, not captured]" : truncate(response.asString());
+            return response;
+        } catch (RuntimeException e) {
+            exchange.statusLine = "No response: " + e;
+            throw e;
+        } finally {
+            BUFFER.get().add(exchange);
+        }
+    }
+
+    /** Clears whatever the current thread captured for its previous test. */
+    public static void reset() {
+        BUFFER.get().clear();
+    }
+
+    /** The current thread's buffer, for threads making calls on behalf of its test. */
+    public static ThreadBinding capture() {
+        RingBuffer buffer = BUFFER.get();
+        return () -> {
+            BUFFER.set(buffer);
+            return BUFFER::remove;
+        };
+    }
+
+    /**
+     * Renders and clears the exchanges captured on the current thread, oldest first.
+     * Returns an empty string when nothing was captured.
+     */
+    public static String drain() {
+        RingBuffer buffer = BUFFER.get();
+        StringBuilder out = new StringBuilder();
+        synchronized (buffer) {
+            if (buffer.dropped > 0) {
+                out.append("... ").append(buffer.dropped).append(" earlier exchange(s) not kept\n\n");
+            }
+            buffer.forEach(exchange -> exchange.appendTo(out));
+            buffer.clear();
+        }
+        return out.toString();
+    }
+
+    private static String bodyOf(Object body) {
+        if (body == null) {
+            return null;
+        }
+        return body instanceof byte[] ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString();
+    }
+
+    private static String truncate(String body) {
+        if (body == null || body.length() <= MAX_BODY_CHARS) {
+            return body;
+        }
+        return body.substring(0, MAX_BODY_CHARS) + "... [" + (body.length() - MAX_BODY_CHARS) + " more chars]";
+    }
+
+    private static class Exchange {
+        private final String method;
+        private final String uri;
+        private final String requestHeaders;
+        private final String requestBody;
+        private String statusLine;
+        private String responseHeaders;
+        private String responseBody;
+
+        Exchange(String method, String uri, String requestHeaders, String requestBody) {
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append("Request method:\t").append(method).append('\n')
+               .append("Request URI:\t").append(uri).append('\n')
+               .append("Headers:\n").append(requestHeaders).append('\n');
+            if (requestBody != null) {
+                out.append("Body:\n").append(requestBody).append('\n');
+            }
+            out.append('\n').append(statusLine).append('\n');
+            if (responseHeaders != null) {
+                out.append(responseHeaders).append('\n');
+            }
+            if (responseBody != null && !responseBody.isEmpty()) {
+                out.append('\n').append(responseBody).append('\n');
+            }
+            out.append("----\n");
+        }
+    }
+
+    private static class RingBuffer {
+        private final Exchange[] slots;
+        private int next;
+        private int size;
+        private long dropped;
+
+        RingBuffer(int capacity) {
+            slots = new Exchange[Math.max(1, capacity)];
+        }
+
+        synchronized void add(Exchange exchange) {
+            if (size == slots.length) {
+                dropped++;
+            } else {
+                size++;
+            }
+            slots[next] = exchange;
+            next = (next + 1) % slots.length;
+        }
+
+        void forEach(Consumer<Exchange> action) {
+            int start = (next - size + slots.length) % slots.length;
+            for (int i = 0; i < size; i++) {
+                action.accept(slots[(start + i) % slots.length]);
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(slots, null);
+            next = 0;
+            size = 0;
+            dropped = 0;
+        }
+    }
+}
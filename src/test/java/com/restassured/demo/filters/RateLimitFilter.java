@@ -0,0 +1,259 @@
+package com.restassured.demo.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Client-side rate limiting shared by every thread: one {@link AdaptiveTokenBucket}
+ * per endpoint group slows the suite down when the server answers 429 or 503 and
+ * speeds it back up while it keeps up. Throttled requests are retried with jittered
+ * exponential backoff (never sooner than Retry-After) while the suite-wide retry
+ * budget allows: idempotent ones after 429 or 503, POST and PATCH only after 429,
+ * which rejects the request before it is processed.
+ *
+ * <p>Tuned through system properties:
+ * <ul>
+ *   <li>{@code ratelimit.maxRate} / {@code ratelimit.minRate} - requests per second per group (200 / 1)</li>
+ *   <li>{@code ratelimit.increasePerSecond} - additive recovery of the rate (5)</li>
+ *   <li>{@code ratelimit.burst} - requests an idle group may send at once (10)</li>
+ *   <li>{@code ratelimit.maxRetries} - retries per request (3)</li>
+ *   <li>{@code ratelimit.retryBudget} - retries earned per request sent, on top of a reserve of 10 (0.2)</li>
+ *   <li>{@code ratelimit.backoffBaseMs} / {@code ratelimit.backoffMaxMs} - backoff bounds (100 / 5000)</li>
+ * </ul>
+ */
+public class RateLimitFilter implements OrderedFilter {
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final double RETRY_RESERVE = 10;
+    private static final double MAX_RETRY_BALANCE = 100;
+    // Re-sent requests pass through this filter again; only the outermost call limits and retries
+    private static final ThreadLocal<Boolean> RESENDING = ThreadLocal.withInitial(() -> false);
+
+    private final Function<String, String> groupOf;
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSecond;
+    private final int burst;
+    private final int maxRetries;
+    private final double retryBudgetRatio;
+    private final long backoffBaseNanos;
+    private final long backoffMaxNanos;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private double retryBalance = RETRY_RESERVE;
+
+    public RateLimitFilter(Function<String, String> groupOf, double minRate, double maxRate, double increasePerSecond,
+                           int burst, int maxRetries, double retryBudgetRatio, Duration backoffBase,
+                           Duration backoffMax) {
+        this.groupOf = groupOf;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increasePerSecond = increasePerSecond;
+        this.burst = burst;
+        this.maxRetries = maxRetries;
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.backoffBaseNanos = backoffBase.toNanos();
+        this.backoffMaxNanos = backoffMax.toNanos();
+    }
+
+    /** {@code groupOf} maps a request's templated path to the group it is limited with. */
+    public static RateLimitFilter fromSystemProperties(Function<String, String> groupOf) {
+        return new RateLimitFilter(groupOf,
+                Double.parseDouble(System.getProperty("ratelimit.minRate", "1")),
+                Double.parseDouble(System.getProperty("ratelimit.maxRate", "200")),
+                Double.parseDouble(System.getProperty("ratelimit.increasePerSecond", "5")),
+                Integer.getInteger("ratelimit.burst", 10),
+                Integer.getInteger("ratelimit.maxRetries", 3),
+                Double.parseDouble(System.getProperty("ratelimit.retryBudget", "0.2")),
+                Duration.ofMillis(Long.getLong("ratelimit.backoffBaseMs", 100)),
+                Duration.ofMillis(Long.getLong("ratelimit.backoffMaxMs", 5000)));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (RESENDING.get()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Group group = groups.computeIfAbsent(groupOf.apply(requestSpec.getUserDefinedPath()), name -> new Group());
+        group.requests.increment();
+        earnRetry();
+
+        acquire(group);
+        Response response = ctx.next(requestSpec, responseSpec);
+        for (int attempt = 1; ; attempt++) {
+            if (!isThrottled(response.statusCode())) {
+                group.bucket.onSuccess();
+                return response;
+            }
+            long retryAfter = retryAfterNanos(response.header("Retry-After"));
+            group.bucket.onThrottled(retryAfter);
+            group.throttled.increment();
+
+            boolean retryable = IDEMPOTENT.contains(requestSpec.getMethod()) || response.statusCode() == 429;
+            if (!retryable || attempt > maxRetries) {
+                return response;
+            }
+            if (!spendRetry()) {
+                group.retriesDenied.increment();
+                return response;
+            }
+            group.retries.increment();
+            if (!sleep(backoffNanos(attempt)) || !acquire(group)) {
+                return response;
+            }
+            FilterableRequestSpecification retry = RequestReplay.copyOf(requestSpec);
+            RESENDING.set(true);
+            try {
+                response = ctx.send(retry);
+            } finally {
+                RESENDING.remove();
+            }
+        }
+    }
+
+    // Between the response cache (hits are never limited) and the latency filter (waiting is not latency)
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    /** Counters per endpoint group, e.g. for logging at suite end. */
+    public Map<String, Stats> stats() {
+        Map<String, Stats> stats = new TreeMap<>();
+        groups.forEach((name, group) -> stats.put(name, new Stats(group.requests.sum(), group.throttled.sum(),
+                group.retries.sum(), group.retriesDenied.sum(), group.waitNanos.sum(), group.bucket.getRate())));
+        return stats;
+    }
+
+    private boolean acquire(Group group) {
+        try {
+            group.waitNanos.add(group.bucket.acquire());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void earnRetry() {
+        retryBalance = Math.min(MAX_RETRY_BALANCE, retryBalance + retryBudgetRatio);
+    }
+
+    private synchronized boolean spendRetry() {
+        if (retryBalance < 1) {
+            return false;
+        }
+        retryBalance--;
+        return true;
+    }
+
+    // Full jitter; the bucket's Retry-After pause applies on top when the retry acquires its permit
+    private long backoffNanos(int attempt) {
+        long ceiling = Math.min(backoffMaxNanos, backoffBaseNanos << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isThrottled(int status) {
+        return status == 429 || status == 503;
+    }
+
+    /** Retry-After as delta-seconds or an HTTP-date; 0 when absent or unparseable. */
+    static long retryAfterNanos(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private class Group {
+        private final AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(minRate, maxRate, increasePerSecond, burst);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder retriesDenied = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+    }
+
+    public static class Stats {
+        private final long requests;
+        private final long throttled;
+        private final long retries;
+        private final long retriesDenied;
+        private final long waitNanos;
+        private final double rate;
+
+        Stats(long requests, long throttled, long retries, long retriesDenied, long waitNanos, double rate) {
+            this.requests = requests;
+            this.throttled = throttled;
+            this.retries = retries;
+            this.retriesDenied = retriesDenied;
+            this.waitNanos = waitNanos;
+            this.rate = rate;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getThrottled() {
+            return throttled;
+        }
+
+        public long getRetries() {
+            return retries;
+        }
+
+        public long getRetriesDenied() {
+            return retriesDenied;
+        }
+
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests, %d throttled, %d retried (%d denied by budget), %.1f s waiting, rate %.1f/s",
+                    requests, throttled, retries, retriesDenied, waitNanos / 1e9, rate);
+        }
+    }
+}
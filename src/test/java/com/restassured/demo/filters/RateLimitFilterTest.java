@@ -0,0 +1,52 @@
+package com.restassured.demo.filters;
+
+import org.testng.annotations.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class RateLimitFilterTest {
+
+    @Test(description = "Retry-After in delay-seconds form")
+    public void testRetryAfterSeconds() {
+        assertThat(RateLimitFilter.retryAfterNanos("120"), equalTo(TimeUnit.SECONDS.toNanos(120)));
+        assertThat(RateLimitFilter.retryAfterNanos(" 3 "), equalTo(TimeUnit.SECONDS.toNanos(3)));
+        assertThat(RateLimitFilter.retryAfterNanos("0"), equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos("-5"), equalTo(0L));
+    }
+
+    @Test(description = "Retry-After in HTTP-date form is the time left until that date")
+    public void testRetryAfterHttpDate() {
+        long inThirtySeconds = RateLimitFilter.retryAfterNanos(httpDate(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30)));
+        // HTTP-dates have whole seconds, so up to one is lost
+        assertThat(inThirtySeconds, both(greaterThan(TimeUnit.SECONDS.toNanos(28)))
+                .and(lessThanOrEqualTo(TimeUnit.SECONDS.toNanos(30))));
+
+        ZonedDateTime inAMinute = ZonedDateTime.now(ZoneId.of("Europe/Berlin")).plusMinutes(1);
+        assertThat(RateLimitFilter.retryAfterNanos(inAMinute.format(DateTimeFormatter.RFC_1123_DATE_TIME)),
+                both(greaterThan(TimeUnit.SECONDS.toNanos(58))).and(lessThanOrEqualTo(TimeUnit.SECONDS.toNanos(60))));
+
+        assertThat(RateLimitFilter.retryAfterNanos(httpDate(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(5))),
+                equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos("Wed, 21 Oct 2015 07:28:00 GMT"), equalTo(0L));
+    }
+
+    @Test(description = "A missing or unparseable Retry-After means no pause")
+    public void testRetryAfterInvalid() {
+        assertThat(RateLimitFilter.retryAfterNanos(null), equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos(""), equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos("   "), equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos("soon"), equalTo(0L));
+        assertThat(RateLimitFilter.retryAfterNanos("1.5"), equalTo(0L));
+    }
+
+    private static String httpDate(ZonedDateTime at) {
+        return at.format(DateTimeFormatter.RFC_1123_DATE_TIME);
+    }
+}
@@ -0,0 +1,26 @@
+package com.restassured.demo.filters;
+
+import io.restassured.RestAssured;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.util.ArrayList;
+
+/**
+ * Builds a copy of an in-flight request that can be re-sent with
+ * {@code FilterContext.send}. The context already holds the resolved URI, so the
+ * path parameters are dropped from the copy.
+ */
+final class RequestReplay {
+
+    private RequestReplay() {
+    }
+
+    static FilterableRequestSpecification copyOf(FilterableRequestSpecification request) {
+        FilterableRequestSpecification copy =
+                (FilterableRequestSpecification) RestAssured.given().spec(request);
+        for (String name : new ArrayList<>(copy.getPathParams().keySet())) {
+            copy.removePathParam(name);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,120 @@
+package com.restassured.demo.filters;
+
+import com.restassured.demo.utils.ThreadBinding;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived memoization of GET responses, scoped to the current test thread and
+ * cleared by {@link #reset()} when a test starts. A cached response is served as-is
+ * for {@code maxAge}; after that it is revalidated with If-None-Match when the
+ * server sent an ETag, so a 304 reuses it without transferring the body again.
+ * Entries are keyed on method, full URI including query and Authorization header.
+ *
+ * <p>Any mutating request clears the thread's cache: views such as
+ * {@code shift-notes-clients?shift_note_id=..} cannot be mapped back to the resource
+ * they render, so every entry may be stale. Only specs that add
+ * {@link #memoizing(Duration)} cache; {@link #invalidating()} only clears.
+ */
+public class ResponseCacheFilter implements OrderedFilter {
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final ThreadLocal<Map<String, Entry>> CACHE = ThreadLocal.withInitial(ConcurrentHashMap::new);
+
+    private final boolean memoize;
+    private final long maxAgeNanos;
+
+    private ResponseCacheFilter(boolean memoize, Duration maxAge) {
+        this.memoize = memoize;
+        this.maxAgeNanos = maxAge.toNanos();
+    }
+
+    /** Caches GETs, serving them without revalidation for {@code maxAge} (zero always revalidates). */
+    public static ResponseCacheFilter memoizing(Duration maxAge) {
+        return new ResponseCacheFilter(true, maxAge);
+    }
+
+    /** Only clears cached responses when a mutating request passes through. */
+    public static ResponseCacheFilter invalidating() {
+        return new ResponseCacheFilter(false, Duration.ZERO);
+    }
+
+    public static void reset() {
+        CACHE.remove();
+    }
+
+    /** The current thread's cache, shared with threads making calls on behalf of its test. */
+    public static ThreadBinding capture() {
+        Map<String, Entry> cache = CACHE.get();
+        return () -> {
+            CACHE.set(cache);
+            return CACHE::remove;
+        };
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        if (!isSafe(method)) {
+            CACHE.get().clear();
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (!memoize || !"GET".equals(method) || requestSpec.getHeaders().hasHeaderWithName(IF_NONE_MATCH)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Map<String, Entry> cache = CACHE.get();
+        String key = method + " " + requestSpec.getURI() + " " + requestSpec.getHeaders().getValue(AUTHORIZATION);
+        Entry cached = cache.get(key);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.storedAt < maxAgeNanos) {
+            return cached.response;
+        }
+        if (cached != null && cached.etag != null) {
+            requestSpec.header(IF_NONE_MATCH, cached.etag);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (cached != null && response.statusCode() == 304) {
+            cached.storedAt = now;
+            return cached.response;
+        }
+        if (response.statusCode() == 200) {
+            cache.put(key, new Entry(response, response.header("ETag"), now));
+        } else {
+            cache.remove(key);
+        }
+        return response;
+    }
+
+    // Runs after filters that add headers such as Authorization, and before rate limiting so hits are never throttled
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static class Entry {
+        private final Response response;
+        private final String etag;
+        private long storedAt;
+
+        Entry(Response response, String etag, long storedAt) {
+            this.response = response;
+            this.etag = etag;
+            this.storedAt = storedAt;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.restassured.demo.filters;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Marks the requests it is added to as streamed: a successful response's body is
+ * left on the connection for the test to read incrementally, e.g. with
+ * {@code JsonStream}, instead of being buffered by the connection pool or captured
+ * by {@link LogCaptureFilter}. Error responses are still buffered, since filters
+ * that retry them never read their bodies. A streamed body can be read once, and
+ * the test must close it to hand the connection back.
+ */
+public class StreamingBodyFilter implements OrderedFilter {
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ACTIVE.set(true);
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    /** Whether the request in flight on the current thread streams its response body. */
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+    // Outermost, so every other filter and the connection pool see the mark
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
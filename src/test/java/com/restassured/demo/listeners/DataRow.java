@@ -0,0 +1,22 @@
+package com.restassured.demo.listeners;
+
+import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+
+/**
+ * Names a data-driven invocation by its row's position in the DataProvider rather
+ * than by its arguments, which may be credentials and end up in report files.
+ */
+final class DataRow {
+    private DataRow() {
+    }
+
+    /** 1-based position among the rows the DataProvider supplied, or 0 for a method without one. */
+    static int numberOf(ITestResult result) {
+        if (!result.getMethod().isDataDriven() || result.getParameters().length == 0) {
+            return 0;
+        }
+        // TestNG 7.7 only exposes the row index on its own result implementation
+        return result instanceof TestResult ? ((TestResult) result).getParameterIndex() + 1 : 0;
+    }
+}
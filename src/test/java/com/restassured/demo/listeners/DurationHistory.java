@@ -0,0 +1,110 @@
+package com.restassured.demo.listeners;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.restassured.demo.config.JacksonConfig;
+import com.restassured.demo.config.Shard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wall-clock durations of test methods and of individual data rows from earlier
+ * runs, kept in {@code test-output/test-durations.json} (per shard when sharded).
+ * A method's duration spans all of its invocations - data rows, @LatencyBudget
+ * repetitions - because that is how long it occupies a worker. Each run is blended
+ * into the history with equal weight, so estimates follow the API as it changes.
+ * Data rows are keyed by their number, e.g. {@code AuthenticationTest.testDataDrivenLogin[3]},
+ * and entries that did not run in the latest run are dropped.
+ */
+public class DurationHistory {
+    private static final Logger LOG = LoggerFactory.getLogger(DurationHistory.class);
+    public static final String FILE = "test-output/test-durations.json";
+    private static final double SMOOTHING = 0.5;
+    private static final TypeReference<Map<String, Map<String, Double>>> FORMAT = new TypeReference<>() {
+    };
+    private static final DurationHistory SUITE = new DurationHistory(Shard.current().outputFile(FILE));
+
+    private final Path file;
+    private final Map<String, Double> methods = new ConcurrentHashMap<>();
+    private final Map<String, Double> rows = new ConcurrentHashMap<>();
+    private final Map<String, long[]> methodSpans = new ConcurrentHashMap<>();
+    private final Map<String, Long> rowDurations = new ConcurrentHashMap<>();
+
+    public DurationHistory(Path file) {
+        this.file = file;
+        if (Files.isRegularFile(file)) {
+            try {
+                Map<String, Map<String, Double>> saved = JacksonConfig.mapper().readValue(file.toFile(), FORMAT);
+                methods.putAll(saved.getOrDefault("methods", Map.of()));
+                rows.putAll(saved.getOrDefault("rows", Map.of()));
+            } catch (IOException e) {
+                // A corrupt history only costs the ordering of one run
+                LOG.warn("Ignoring unreadable test duration history {}: {}", file, e.toString());
+            }
+        }
+    }
+
+    /** The history {@code TestListener} records into and the scheduler reads. */
+    public static DurationHistory suite() {
+        return SUITE;
+    }
+
+    public void record(ITestResult result) {
+        String method = result.getMethod().getQualifiedName();
+        methodSpans.merge(method, new long[] {result.getStartMillis(), result.getEndMillis()},
+                (a, b) -> new long[] {Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+        int row = DataRow.numberOf(result);
+        if (row > 0) {
+            rowDurations.put(method + "[" + row + "]", result.getEndMillis() - result.getStartMillis());
+        }
+    }
+
+    public boolean isEmpty() {
+        return methods.isEmpty();
+    }
+
+    /** Historical duration of a method by qualified name, if it has run before. */
+    public OptionalDouble getMillis(String method) {
+        Double millis = methods.get(method);
+        return millis == null ? OptionalDouble.empty() : OptionalDouble.of(millis);
+    }
+
+    /** Blends this run's measurements into the history and writes it out. */
+    public synchronized void save() {
+        if (methodSpans.isEmpty()) {
+            return;
+        }
+        // Renamed tests and removed rows would otherwise stay in the file forever
+        methods.keySet().retainAll(methodSpans.keySet());
+        rows.keySet().retainAll(rowDurations.keySet());
+        methodSpans.forEach((method, span) -> blend(methods, method, span[1] - span[0]));
+        rowDurations.forEach((row, millis) -> blend(rows, row, millis));
+        methodSpans.clear();
+        rowDurations.clear();
+
+        Map<String, Map<String, Double>> saved = new TreeMap<>();
+        saved.put("methods", new TreeMap<>(methods));
+        saved.put("rows", new TreeMap<>(rows));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            JacksonConfig.mapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), saved);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test duration history " + file, e);
+        }
+    }
+
+    private static void blend(Map<String, Double> history, String key, long millis) {
+        history.merge(key, (double) millis, (old, latest) -> SMOOTHING * latest + (1 - SMOOTHING) * old);
+    }
+}
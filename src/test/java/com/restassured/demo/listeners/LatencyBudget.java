@@ -0,0 +1,39 @@
+package com.restassured.demo.listeners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Performance budget for a test method, enforced by {@link TestListener}. The
+ * method runs {@code warmup + iterations} times; latencies of the HTTP calls made
+ * during the measured iterations (optionally only those to {@code endpoint}) must
+ * stay within every percentile given in milliseconds. Percentiles left at -1 are
+ * not checked. Every repetition repeats the method's side effects, so budgets
+ * belong on read-only tests; one on a test that creates data creates it
+ * {@code warmup + iterations} times in the target environment.
+ *
+ * <pre>
+ * &#64;LatencyBudget(endpoint = "GET /api/auth/shift-notes-clients", p95 = 300, warmup = 1, iterations = 5)
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LatencyBudget {
+
+    /** Templated endpoint to measure, e.g. {@code "GET /api/auth/shift-notes/{noteId}"}; empty for all calls. */
+    String endpoint() default "";
+
+    long p50() default -1;
+
+    long p90() default -1;
+
+    long p95() default -1;
+
+    long p99() default -1;
+
+    int warmup() default 0;
+
+    int iterations() default 10;
+}
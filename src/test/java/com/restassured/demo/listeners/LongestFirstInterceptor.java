@@ -0,0 +1,166 @@
+package com.restassured.demo.listeners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.PriorityQueue;
+
+/**
+ * Orders methods longest-first using {@link DurationHistory}, so long pollers such
+ * as SchedulerTest start while other workers drain the short tests instead of
+ * holding the run up at the end. Methods linked by dependsOnMethods/Groups or by
+ * explicit priorities within a class (CRUDTest's create-read-update-delete) move as
+ * one chain in their original order; with parallel="classes" whole classes do.
+ *
+ * <p>Predicted makespans for the original and the new order are stored on the
+ * test context and reported with the actual one by {@link TestListener}.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor {
+    static final String PREDICTED_MAKESPAN = "schedule.predictedMakespanMillis";
+    static final String DEFAULT_MAKESPAN = "schedule.defaultMakespanMillis";
+    private static final Logger LOG = LoggerFactory.getLogger(LongestFirstInterceptor.class);
+    // -Dschedule.longestFirst=false keeps the incoming order (durations are still recorded)
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("schedule.longestFirst", "true"));
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        DurationHistory history = DurationHistory.suite();
+        if (!ENABLED || history.isEmpty() || methods.size() < 2) {
+            return methods;
+        }
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        XmlSuite.ParallelMode parallel = xmlTest.getParallel();
+        boolean parallelMethods = parallel == XmlSuite.ParallelMode.METHODS;
+        // parallel="tests" still runs each <test>'s own methods one after another
+        boolean parallelWithinTest = parallelMethods || parallel == XmlSuite.ParallelMode.CLASSES
+                || parallel == XmlSuite.ParallelMode.INSTANCES;
+        int workers = parallelWithinTest ? Math.max(1, xmlTest.getThreadCount()) : 1;
+
+        double[] estimates = estimate(methods, history);
+        List<Chain> chains = chains(methods, estimates, !parallelMethods);
+        long defaultMakespan = makespan(chains, workers);
+        chains.sort(Comparator.comparingDouble(Chain::getMillis).reversed());
+        long predictedMakespan = makespan(chains, workers);
+
+        context.setAttribute(DEFAULT_MAKESPAN, defaultMakespan);
+        context.setAttribute(PREDICTED_MAKESPAN, predictedMakespan);
+        LOG.info("Longest-first order of '{}' on {} worker(s): predicted makespan {} ms (incoming order {} ms)",
+                context.getName(), workers, predictedMakespan, defaultMakespan);
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        chains.forEach(chain -> chain.members.forEach(index -> ordered.add(methods.get(index))));
+        return ordered;
+    }
+
+    // Methods that never ran are assumed to take as long as an average known method
+    private static double[] estimate(List<IMethodInstance> methods, DurationHistory history) {
+        double[] estimates = new double[methods.size()];
+        double known = 0;
+        int knownCount = 0;
+        for (int i = 0; i < estimates.length; i++) {
+            OptionalDouble millis = history.getMillis(methods.get(i).getMethod().getQualifiedName());
+            estimates[i] = millis.orElse(-1);
+            if (millis.isPresent()) {
+                known += millis.getAsDouble();
+                knownCount++;
+            }
+        }
+        double fallback = knownCount == 0 ? 0 : known / knownCount;
+        for (int i = 0; i < estimates.length; i++) {
+            if (estimates[i] < 0) {
+                estimates[i] = fallback;
+            }
+        }
+        return estimates;
+    }
+
+    private static List<Chain> chains(List<IMethodInstance> methods, double[] estimates, boolean wholeClasses) {
+        int[] parent = new int[methods.size()];
+        Arrays.setAll(parent, i -> i);
+        Map<String, Integer> byName = new HashMap<>();
+        Map<String, List<Integer>> byGroup = new HashMap<>();
+        Map<String, Integer> firstInClass = new HashMap<>();
+        for (int i = 0; i < methods.size(); i++) {
+            ITestNGMethod method = methods.get(i).getMethod();
+            byName.put(method.getQualifiedName(), i);
+            for (String group : method.getGroups()) {
+                byGroup.computeIfAbsent(group, g -> new ArrayList<>()).add(i);
+            }
+        }
+        for (int i = 0; i < methods.size(); i++) {
+            int index = i;
+            ITestNGMethod method = methods.get(i).getMethod();
+            for (String dependency : method.getMethodsDependedUpon()) {
+                Integer other = byName.get(dependency);
+                if (other != null) {
+                    union(parent, i, other);
+                }
+            }
+            for (String group : method.getGroupsDependedUpon()) {
+                byGroup.getOrDefault(group, List.of()).forEach(other -> union(parent, index, other));
+            }
+            if (wholeClasses || method.getPriority() != 0) {
+                String key = method.getRealClass().getName() + (wholeClasses ? "" : "#prioritized");
+                union(parent, i, firstInClass.computeIfAbsent(key, k -> index));
+            }
+        }
+
+        Map<Integer, Chain> chains = new LinkedHashMap<>();
+        for (int i = 0; i < methods.size(); i++) {
+            Chain chain = chains.computeIfAbsent(find(parent, i), root -> new Chain());
+            chain.members.add(i);
+            chain.millis += estimates[i];
+        }
+        return new ArrayList<>(chains.values());
+    }
+
+    /** Greedy list scheduling: each chain goes to the worker that frees up first. */
+    private static long makespan(List<Chain> chains, int workers) {
+        PriorityQueue<Double> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            loads.add(0.0);
+        }
+        double makespan = 0;
+        for (Chain chain : chains) {
+            double load = loads.poll() + chain.millis;
+            makespan = Math.max(makespan, load);
+            loads.add(load);
+        }
+        return Math.round(makespan);
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+
+    private static class Chain {
+        private final List<Integer> members = new ArrayList<>();
+        private double millis;
+
+        double getMillis() {
+            return millis;
+        }
+    }
+}
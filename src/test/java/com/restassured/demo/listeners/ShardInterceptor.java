@@ -0,0 +1,35 @@
+package com.restassured.demo.listeners;
+
+import com.restassured.demo.config.Shard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps only the test classes this JVM's {@link Shard} owns, so dependsOnMethods
+ * chains and class-level fixtures stay on one shard. Data-driven methods run on
+ * every shard; their Excel rows are split by {@code ExcelDataReader} instead, so a
+ * large data sheet spreads across all shards rather than landing on one.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Shard shard = Shard.current();
+        if (!shard.isSharded()) {
+            return methods;
+        }
+        List<IMethodInstance> owned = methods.stream()
+                .filter(method -> method.getMethod().isDataDriven()
+                        || shard.owns(method.getMethod().getRealClass().getName()))
+                .collect(Collectors.toList());
+        LOG.info("Shard {} of '{}' runs {} of {} methods", shard, context.getName(), owned.size(), methods.size());
+        return owned;
+    }
+}
@@ -1,40 +1,233 @@
 package com.restassured.demo.listeners;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.restassured.demo.config.FixturePool;
+import com.restassured.demo.config.Shard;
+import com.restassured.demo.filters.LogCaptureFilter;
+import com.restassured.demo.filters.ResponseCacheFilter;
+import com.restassured.demo.metrics.EndpointLatencies;
+import com.restassured.demo.metrics.LatencySamples;
+import com.restassured.demo.metrics.StartupProfile;
+import com.restassured.demo.metrics.TestResourceReport;
+import com.restassured.demo.metrics.TestResources;
+import com.restassured.demo.utils.LatencyHistogram;
 import com.restassured.demo.utils.ExtentReportManager;
+import com.restassured.demo.utils.ReportTest;
+import com.restassured.demo.utils.SchemaRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class TestListener implements ITestListener {
-    private ExtentReports extent = ExtentReportManager.getInstance();
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestListener implements ITestListener, ISuiteListener, IHookable {
+    private static final Logger LOG = LoggerFactory.getLogger(TestListener.class);
+    // -Dlatency.budgets=false runs @LatencyBudget methods once, without checking the budget
+    private static final boolean ENFORCE_BUDGETS = Boolean.parseBoolean(System.getProperty("latency.budgets", "true"));
+    // Rows of the resource usage summary in the report; the CSV export has all of them
+    private static final int RESOURCE_SUMMARY_ROWS = Integer.getInteger("resources.top", 10);
 
     @Override
     public void onTestStart(ITestResult result) {
-        ExtentTest test = extent.createTest(result.getMethod().getMethodName());
+        StartupProfile.suite().testStarted();
+        ReportTest test = ExtentReportManager.createTest(result.getMethod().getMethodName());
         ExtentReportManager.setTest(test);
+        LogCaptureFilter.reset();
+        ResponseCacheFilter.reset();
+        FixturePool.releaseThread();
+        TestResources.start();
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
+        recordResources(result, "PASS");
+        DurationHistory.suite().record(result);
         ExtentReportManager.getTest().log(Status.PASS, "Test passed");
+        LogCaptureFilter.reset();
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
+        recordResources(result, "FAIL");
+        DurationHistory.suite().record(result);
         ExtentReportManager.getTest().log(Status.FAIL, "Test failed");
         ExtentReportManager.getTest().log(Status.FAIL, result.getThrowable());
+
+        // HTTP traffic is only rendered for failing tests
+        String exchanges = LogCaptureFilter.drain();
+        if (!exchanges.isEmpty()) {
+            LOG.error("HTTP exchanges for failed test {}:\n{}", result.getName(), exchanges);
+            ExtentReportManager.getTest().log(Status.INFO, MarkupHelper.createCodeBlock(exchanges));
+        }
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
+        recordResources(result, "SKIP");
         ExtentReportManager.getTest().log(Status.SKIP, "Test skipped");
+        LogCaptureFilter.reset();
+    }
+
+    // Tests skipped before they started (e.g. on a failed dependency) have no usage
+    private static void recordResources(ITestResult result, String status) {
+        TestResources.Usage usage = TestResources.stop();
+        if (usage == null) {
+            return;
+        }
+        int row = DataRow.numberOf(result);
+        TestResourceReport.suite().record(result.getMethod().getQualifiedName(),
+                row == 0 ? "" : String.valueOf(row), status, usage);
+        ReportTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.info(MarkupHelper.createTable(TestResourceReport.toTable(usage)));
+        }
+    }
+
+    // Methods with a @LatencyBudget are repeated and fail when their HTTP calls exceed it
+    @Override
+    public void run(IHookCallBack callBack, ITestResult result) {
+        LatencyBudget budget = result.getMethod().getConstructorOrMethod().getMethod().getAnnotation(LatencyBudget.class);
+        if (budget == null || !ENFORCE_BUDGETS) {
+            callBack.runTestMethod(result);
+            return;
+        }
+
+        LatencyHistogram measured = new LatencyHistogram();
+        for (int i = 0; i < budget.warmup() + budget.iterations(); i++) {
+            LatencySamples.start();
+            try {
+                callBack.runTestMethod(result);
+            } finally {
+                List<LatencySamples.Sample> samples = LatencySamples.stop();
+                if (i >= budget.warmup()) {
+                    samples.stream()
+                            .filter(sample -> budget.endpoint().isEmpty() || budget.endpoint().equals(sample.getEndpoint()))
+                            .forEach(sample -> measured.record(sample.getMicros()));
+                }
+            }
+            if (result.getThrowable() != null) {
+                return;
+            }
+        }
+
+        String report = budgetReport(budget, measured);
+        if (report.contains("EXCEEDED") || measured.getCount() == 0) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(measured.getCount() == 0
+                    ? "Latency budget: no HTTP calls" + (budget.endpoint().isEmpty() ? "" : " to " + budget.endpoint()) + " were measured"
+                    : report));
+        } else {
+            ExtentReportManager.getTest().log(Status.INFO, report);
+        }
+    }
+
+    private static String budgetReport(LatencyBudget budget, LatencyHistogram measured) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Latency budget for %s over %d call(s) in %d iteration(s) after %d warmup:",
+                budget.endpoint().isEmpty() ? "all calls" : budget.endpoint(), measured.getCount(),
+                budget.iterations(), budget.warmup()));
+        addBudgetLine(lines, "p50", budget.p50(), measured.getValueAtPercentile(50));
+        addBudgetLine(lines, "p90", budget.p90(), measured.getValueAtPercentile(90));
+        addBudgetLine(lines, "p95", budget.p95(), measured.getValueAtPercentile(95));
+        addBudgetLine(lines, "p99", budget.p99(), measured.getValueAtPercentile(99));
+        return String.join("\n  ", lines);
+    }
+
+    private static void addBudgetLine(List<String> lines, String percentile, long budgetMillis, long actualMicros) {
+        if (budgetMillis >= 0) {
+            lines.add(String.format("%s %.1f ms (budget %d ms)%s", percentile, actualMicros / 1000.0, budgetMillis,
+                    actualMicros > budgetMillis * 1000 ? " EXCEEDED" : ""));
+        }
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        extent.flush();
+        Object predicted = context.getAttribute(LongestFirstInterceptor.PREDICTED_MAKESPAN);
+        if (predicted != null) {
+            long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+            LOG.info("Makespan of '{}': actual {} ms, predicted {} ms (incoming order {} ms)", context.getName(), actual,
+                    predicted, context.getAttribute(LongestFirstInterceptor.DEFAULT_MAKESPAN));
+        }
+    }
+
+    // Flush once per suite so parallel <test> blocks never render while others are still logging
+    @Override
+    public void onFinish(ISuite suite) {
+        reportStartup();
+        exportLatencies();
+        exportResources();
+        reportSchemaValidation();
+        DurationHistory.suite().save();
+        ExtentReportManager.flush();
+    }
+
+    // Setup steps and how long the suite took to reach its first test
+    private void reportStartup() {
+        StartupProfile startup = StartupProfile.suite();
+        if (startup.isEmpty()) {
+            return;
+        }
+        String[][] table = startup.toTable();
+        ExtentReportManager.createTest("Startup").log(Status.INFO, MarkupHelper.createTable(table));
+        for (int i = 1; i < table.length; i++) {
+            LOG.info("Startup: {}{} {} ms", table[i][0], table[i][1].isEmpty() ? "" : " [" + table[i][1] + "]",
+                    table[i][3]);
+        }
+        startup.reset();
+    }
+
+    private void exportLatencies() {
+        EndpointLatencies latencies = EndpointLatencies.suite();
+        if (latencies.isEmpty()) {
+            return;
+        }
+        Shard shard = Shard.current();
+        Path csv = shard.outputFile(EndpointLatencies.CSV_FILE);
+        Path json = shard.outputFile(EndpointLatencies.JSON_FILE);
+        Path prometheus = shard.outputFile(EndpointLatencies.PROMETHEUS_FILE);
+        latencies.writeCsv(csv);
+        latencies.writeJson(json);
+        latencies.writePrometheus(prometheus);
+        ExtentReportManager.createTest(shard.isSharded() ? "Latency summary (shard " + shard + ")" : "Latency summary")
+                .log(Status.INFO, MarkupHelper.createTable(latencies.toTable()));
+        LOG.info("Endpoint latencies written to {}, {} and {}", csv, json, prometheus);
+        latencies.reset();
+    }
+
+    // What full contract checks cost per response, to keep them affordable in parallel runs
+    private void reportSchemaValidation() {
+        SchemaRegistry schemas = SchemaRegistry.suite();
+        if (!schemas.hasValidations()) {
+            return;
+        }
+        String[][] table = schemas.toTable();
+        ExtentReportManager.createTest("Schema validation").log(Status.INFO, MarkupHelper.createTable(table));
+        for (int i = 1; i < table.length; i++) {
+            LOG.info("Schema {}: {} validation(s), {} failed, mean {} us, p99 {} us", table[i][0], table[i][2],
+                    table[i][3], table[i][4], table[i][6]);
+        }
+    }
+
+    private void exportResources() {
+        TestResourceReport resources = TestResourceReport.suite();
+        if (resources.isEmpty()) {
+            return;
+        }
+        Shard shard = Shard.current();
+        Path csv = shard.outputFile(TestResourceReport.CSV_FILE);
+        resources.writeCsv(csv);
+        ExtentReportManager.createTest(shard.isSharded() ? "Resource usage (shard " + shard + ")" : "Resource usage")
+                .log(Status.INFO, MarkupHelper.createTable(resources.toTable(RESOURCE_SUMMARY_ROWS)));
+        LOG.info("Per-test resource usage written to {}", csv);
+        resources.reset();
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.restassured.demo.load;
+
+import com.restassured.demo.utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, error and throughput figures collected during a load run, per endpoint
+ * and per scenario. Latencies are recorded in microseconds. Whether an iteration -
+ * and every request it makes - is measured depends on when it was meant to start,
+ * so iterations scheduled during warm-up never count, however late they finish.
+ */
+public class LoadMetrics {
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    // Intended start of the iteration running on each worker thread
+    private final ThreadLocal<Long> iterationStart = new ThreadLocal<>();
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private volatile boolean stopped;
+    private volatile long durationNanos;
+
+    /** Iterations meant to start at or after this {@link System#nanoTime()} are measured. */
+    void measureFrom(long nanos) {
+        measureFromNanos = nanos;
+    }
+
+    void stopRecording(long measuredNanos) {
+        stopped = true;
+        durationNanos = measuredNanos;
+    }
+
+    void startIteration(long intendedStart) {
+        iterationStart.set(intendedStart);
+    }
+
+    void endIteration() {
+        iterationStart.remove();
+    }
+
+    private boolean measures(long intendedStart) {
+        return !stopped && intendedStart >= measureFromNanos;
+    }
+
+    /** Records a request of the iteration running on the current thread. */
+    void recordRequest(String endpoint, long micros, boolean error) {
+        Long intendedStart = iterationStart.get();
+        if (intendedStart != null && measures(intendedStart)) {
+            endpoints.computeIfAbsent(endpoint, key -> new Stats()).record(micros, error);
+        }
+    }
+
+    void recordScenario(String scenario, long intendedStart, long micros, boolean error) {
+        if (measures(intendedStart)) {
+            scenarios.computeIfAbsent(scenario, key -> new Stats()).record(micros, error);
+        }
+    }
+
+    void recordDropped(long intendedStart) {
+        if (measures(intendedStart)) {
+            dropped.increment();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public double getErrorRate() {
+        long count = 0;
+        long errors = 0;
+        for (Stats stats : scenarios.values()) {
+            count += stats.latency.getCount();
+            errors += stats.errors.sum();
+        }
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    public String toTable() {
+        StringBuilder out = new StringBuilder();
+        double seconds = durationNanos / 1e9;
+        out.append(String.format("Measured %.1f s, %d iteration(s) dropped by the open model%n", seconds, getDropped()));
+        appendTable(out, "Endpoint", endpoints, seconds);
+        appendTable(out, "Scenario", scenarios, seconds);
+        return out.toString();
+    }
+
+    public void writeCsv(Path file) {
+        StringBuilder out = new StringBuilder("kind,name,count,errors,error_rate,throughput_per_s,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+        double seconds = durationNanos / 1e9;
+        appendCsv(out, "endpoint", endpoints, seconds);
+        appendCsv(out, "scenario", scenarios, seconds);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write load report " + file, e);
+        }
+    }
+
+    private static void appendTable(StringBuilder out, String title, Map<String, Stats> rows, double seconds) {
+        out.append(String.format("%n%-45s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                title, "count", "err%", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        new TreeMap<>(rows).forEach((name, stats) -> {
+            LatencyHistogram h = stats.latency;
+            out.append(String.format("%-45s %8d %7.2f %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    name, h.getCount(), stats.errorRate() * 100, h.getCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)), millis(h.getMax())));
+        });
+    }
+
+    private static void appendCsv(StringBuilder out, String kind, Map<String, Stats> rows, double seconds) {
+        new TreeMap<>(rows).forEach((name, stats) -> {
+            LatencyHistogram h = stats.latency;
+            out.append(String.format("%s,\"%s\",%d,%d,%.4f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    kind, name, h.getCount(), stats.errors.sum(), stats.errorRate(), h.getCount() / seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)), millis(h.getMax())));
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long micros, boolean error) {
+            latency.record(micros);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        double errorRate() {
+            long count = latency.getCount();
+            return count == 0 ? 0 : (double) errors.sum() / count;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.restassured.demo.load;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records every request of a load run against its templated endpoint, e.g.
+ * {@code PUT /api/auth/shift-notes/{noteId}}. Statuses of 400 and above count as errors.
+ */
+public class LoadMetricsFilter implements Filter {
+    private final LoadMetrics metrics;
+
+    public LoadMetricsFilter(LoadMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String endpoint = requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            error = response.statusCode() >= 400;
+            return response;
+        } finally {
+            metrics.recordRequest(endpoint, (System.nanoTime() - start) / 1000, error);
+        }
+    }
+}
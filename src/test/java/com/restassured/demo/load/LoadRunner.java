@@ -0,0 +1,184 @@
+package com.restassured.demo.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives weighted scenarios either at a target arrival rate (open model) or with a
+ * fixed number of concurrent users (closed model).
+ *
+ * <p>In the open model, latency is measured from each iteration's scheduled start
+ * time. Time spent waiting for a free worker therefore shows up in the numbers
+ * instead of hiding behind a slow server. Iterations that find all workers busy
+ * are dropped and counted.
+ */
+public class LoadRunner {
+    public enum Model { OPEN, CLOSED }
+
+    private final Options options;
+
+    public LoadRunner(Options options) {
+        this.options = options;
+    }
+
+    public LoadMetrics run(List<LoadScenario> scenarios, LoadMetrics metrics) {
+        WeightedPicker picker = new WeightedPicker(scenarios);
+        int workers = options.model == Model.OPEN ? options.maxWorkers : options.concurrency;
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        metrics.measureFrom(measureFrom);
+        try {
+            if (options.model == Model.OPEN) {
+                runOpen(picker, pool, metrics, start, end);
+            } else {
+                runClosed(picker, pool, metrics, end);
+            }
+        } finally {
+            pool.shutdown();
+            awaitQuietly(pool);
+            metrics.stopRecording(Math.min(System.nanoTime(), end) - measureFrom);
+        }
+        return metrics;
+    }
+
+    private void runOpen(WeightedPicker picker, ExecutorService pool, LoadMetrics metrics, long start, long end) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        AtomicInteger inFlight = new AtomicInteger();
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            sleepUntil(scheduled);
+            if (inFlight.get() >= options.maxWorkers) {
+                metrics.recordDropped(scheduled);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long intendedStart = scheduled;
+            pool.execute(() -> {
+                try {
+                    runIteration(picker.next(), metrics, intendedStart);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void runClosed(WeightedPicker picker, ExecutorService pool, LoadMetrics metrics, long end) {
+        for (int i = 0; i < options.concurrency; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < end) {
+                    runIteration(picker.next(), metrics, System.nanoTime());
+                }
+            });
+        }
+        sleepUntil(end);
+    }
+
+    private static void runIteration(LoadScenario scenario, LoadMetrics metrics, long intendedStart) {
+        boolean error = true;
+        metrics.startIteration(intendedStart);
+        try {
+            scenario.run();
+            error = false;
+        } catch (Throwable t) {
+            // Failed iterations are counted, not rethrown
+        } finally {
+            metrics.endIteration();
+            metrics.recordScenario(scenario.getName(), intendedStart, (System.nanoTime() - intendedStart) / 1000, error);
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void awaitQuietly(ExecutorService pool) {
+        try {
+            if (!pool.awaitTermination(options.drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    private static class WeightedPicker {
+        private final List<LoadScenario> scenarios;
+        private final int[] cumulative;
+
+        WeightedPicker(List<LoadScenario> scenarios) {
+            if (scenarios.isEmpty()) {
+                throw new IllegalArgumentException("At least one load scenario is required");
+            }
+            this.scenarios = scenarios;
+            this.cumulative = new int[scenarios.size()];
+            int total = 0;
+            for (int i = 0; i < scenarios.size(); i++) {
+                total += Math.max(0, scenarios.get(i).getWeight());
+                cumulative[i] = total;
+            }
+            if (total == 0) {
+                throw new IllegalArgumentException("Load scenario weights must add up to more than 0");
+            }
+        }
+
+        LoadScenario next() {
+            int ticket = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (ticket < cumulative[i]) {
+                    return scenarios.get(i);
+                }
+            }
+            return scenarios.get(scenarios.size() - 1);
+        }
+    }
+
+    /** Run settings, read from {@code load.*} system properties. */
+    public static class Options {
+        private Model model = Model.CLOSED;
+        private double rate = 10;
+        private int concurrency = 10;
+        private int maxWorkers = 500;
+        private Duration warmup = Duration.ofSeconds(5);
+        private Duration duration = Duration.ofSeconds(30);
+        private Duration drainTimeout = Duration.ofSeconds(30);
+
+        public static Options fromSystemProperties() {
+            Options options = new Options();
+            options.model = Model.valueOf(System.getProperty("load.model", "closed").toUpperCase());
+            options.rate = Double.parseDouble(System.getProperty("load.rate", "10"));
+            if (!(options.rate > 0)) {
+                throw new IllegalArgumentException("load.rate must be a positive number of iterations per second, was "
+                        + options.rate);
+            }
+            options.concurrency = Integer.getInteger("load.concurrency", 10);
+            options.maxWorkers = Integer.getInteger("load.maxWorkers", 500);
+            options.warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+            options.duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+            return options;
+        }
+
+        @Override
+        public String toString() {
+            return model == Model.OPEN
+                    ? "open model at " + rate + " iterations/s (max " + maxWorkers + " workers)"
+                    : "closed model with " + concurrency + " concurrent users";
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.restassured.demo.load;
+
+/**
+ * A named, weighted unit of work for the load runner. One execution of the flow is
+ * one scenario iteration; it throws when any step gets an unexpected response.
+ */
+public class LoadScenario {
+    private final String name;
+    private final int weight;
+    private final Runnable flow;
+
+    public LoadScenario(String name, int weight, Runnable flow) {
+        this.name = name;
+        this.weight = weight;
+        this.flow = flow;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void run() {
+        flow.run();
+    }
+
+    public LoadScenario withWeight(int newWeight) {
+        return new LoadScenario(name, newWeight, flow);
+    }
+}
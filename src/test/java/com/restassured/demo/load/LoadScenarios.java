@@ -0,0 +1,209 @@
+package com.restassured.demo.load;
+
+import com.restassured.demo.models.ApiResponse;
+import com.restassured.demo.models.EmrRoundSchedule;
+import com.restassured.demo.models.LoginRequest;
+import com.restassured.demo.models.TwoFactorVerify;
+import com.restassured.demo.utils.TestData;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * The functional test flows expressed as load scenarios. Requests are built from
+ * the same specs and {@link TestData} payloads as AuthenticationTest, CRUDTest and
+ * SchedulerTest.
+ *
+ * <p>A two-factor login overwrites the account's pending code, so concurrent flows
+ * on one account would fail each other. Each flow checks out an account of its own
+ * and waits while all of them are busy; more accounts allow more concurrent flows.
+ */
+public class LoadScenarios {
+    public static final String TWO_FACTOR_EMAIL = "dummy.test+2fa@gmail.com";
+    private static final String TWO_FACTOR_PASSWORD = "dummyTestPassword123!";
+
+    private final RequestSpecification authSpec;
+    private final RequestSpecification metricsSpec;
+    private final LoginRequest credentials;
+    private final String loginPath;
+    private final BlockingQueue<String> twoFactorAccounts;
+
+    public LoadScenarios(RequestSpecification authSpec, RequestSpecification metricsSpec,
+                         LoginRequest credentials, String loginPath, List<String> twoFactorEmails) {
+        if (twoFactorEmails.isEmpty()) {
+            throw new IllegalArgumentException("At least one two-factor account is required");
+        }
+        this.authSpec = authSpec;
+        this.metricsSpec = metricsSpec;
+        this.credentials = credentials;
+        this.loginPath = loginPath;
+        this.twoFactorAccounts = new LinkedBlockingQueue<>(twoFactorEmails);
+    }
+
+    public Map<String, LoadScenario> all() {
+        Map<String, LoadScenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("login", new LoadScenario("login", 1, this::login));
+        scenarios.put("twoFactorLogin", new LoadScenario("twoFactorLogin", 1, this::twoFactorLogin));
+        scenarios.put("shiftNoteCrud", new LoadScenario("shiftNoteCrud", 1, this::shiftNoteCrud));
+        scenarios.put("emrRoundScheduling", new LoadScenario("emrRoundScheduling", 1, this::emrRoundScheduling));
+        return scenarios;
+    }
+
+    /** Parses a mix such as {@code login:1,shiftNoteCrud:5}; a missing weight means 1. */
+    public List<LoadScenario> parse(String mix) {
+        Map<String, LoadScenario> available = all();
+        List<LoadScenario> selected = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            LoadScenario scenario = available.get(parts[0]);
+            if (scenario == null) {
+                throw new IllegalArgumentException("Unknown load scenario '" + parts[0] + "', expected one of "
+                        + available.keySet());
+            }
+            selected.add(scenario.withWeight(parts.length > 1 ? Integer.parseInt(parts[1]) : 1));
+        }
+        return selected;
+    }
+
+    private RequestSpecification anonymous() {
+        return given().spec(metricsSpec);
+    }
+
+    private RequestSpecification authenticated() {
+        return given().spec(authSpec).spec(metricsSpec);
+    }
+
+    private void login() {
+        anonymous()
+            .contentType(ContentType.JSON)
+            .body(credentials)
+        .when()
+            .post(loginPath)
+        .then()
+            .statusCode(200)
+            .body("results.token", notNullValue());
+    }
+
+    private void twoFactorLogin() {
+        String email;
+        try {
+            email = twoFactorAccounts.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a two-factor account", e);
+        }
+        try {
+            twoFactorLogin(email);
+        } finally {
+            twoFactorAccounts.add(email);
+        }
+    }
+
+    private void twoFactorLogin(String email) {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(TWO_FACTOR_PASSWORD);
+        loginRequest.setTimezone("Asia/Manila");
+
+        anonymous()
+            .contentType(ContentType.JSON)
+            .body(loginRequest)
+        .when()
+            .post(loginPath)
+        .then()
+            .statusCode(200);
+
+        TwoFactorVerify codeRequest = new TwoFactorVerify();
+        codeRequest.setEmail(email);
+
+        String pin = anonymous()
+            .contentType(ContentType.JSON)
+            .body(codeRequest)
+        .when()
+            .post("/api/auth/retrieve-two-factor-code")
+        .then()
+            .statusCode(200)
+            .extract()
+            .as(new TypeRef<ApiResponse<String>>() {})
+            .getResults();
+
+        TwoFactorVerify verifyRequest = new TwoFactorVerify();
+        verifyRequest.setAuthCode(pin);
+        verifyRequest.setEmail(email);
+        verifyRequest.setPassword(TWO_FACTOR_PASSWORD);
+
+        anonymous()
+            .contentType(ContentType.JSON)
+            .body(verifyRequest)
+        .when()
+            .post("/api/auth/verify-two-factor-auth")
+        .then()
+            .statusCode(200)
+            .body("results.token", notNullValue());
+    }
+
+    private void shiftNoteCrud() {
+        int noteId = authenticated()
+            .contentType(ContentType.JSON)
+            .body(TestData.shiftNotePayload())
+        .when()
+            .post("/api/auth/shift-notes")
+        .then()
+            .statusCode(201)
+            .extract()
+            .path("results.id");
+
+        authenticated()
+            .queryParam("shift_note_id", noteId)
+        .when()
+            .get("/api/auth/shift-notes-clients")
+        .then()
+            .statusCode(200);
+
+        authenticated()
+            .contentType(ContentType.JSON)
+            .pathParam("noteId", noteId)
+            .body(TestData.updatedShiftNotePayload())
+        .when()
+            .put("/api/auth/shift-notes/{noteId}")
+        .then()
+            .statusCode(200);
+
+        authenticated()
+            .pathParam("noteId", noteId)
+        .when()
+            .delete("/api/auth/shift-notes/{noteId}")
+        .then()
+            .statusCode(200);
+    }
+
+    private void emrRoundScheduling() {
+        EmrRoundSchedule schedulePayload = TestData.schedulePayload();
+
+        authenticated()
+            .contentType(ContentType.JSON)
+            .body(schedulePayload)
+        .when()
+            .post("/api/auth/rounds/emr-rounds")
+        .then()
+            .statusCode(201);
+
+        authenticated()
+            .queryParam("clientId", schedulePayload.getClientId())
+            .queryParam("treatmentEpisodeId", schedulePayload.getTreatmentEpisodeId())
+        .when()
+            .get("/api/auth/rounds/emr-past-rounds")
+        .then()
+            .statusCode(200);
+    }
+}
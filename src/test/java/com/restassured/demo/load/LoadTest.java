@@ -0,0 +1,70 @@
+package com.restassured.demo.load;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.restassured.demo.config.TestConfig;
+import com.restassured.demo.utils.ExtentReportManager;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the load mode ({@code mvn test -Pload}). Runs the functional flows
+ * as a weighted workload and reports per-endpoint latency percentiles, error rates
+ * and throughput. Configured through {@code load.*} system properties.
+ */
+@Listeners(com.restassured.demo.listeners.TestListener.class)
+public class LoadTest extends TestConfig {
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+    private static final String REPORT_FILE = "test-output/load-report.csv";
+
+    // Scenarios create their own shift notes and rounds
+    @Override
+    protected boolean provisionsFixtures() {
+        return false;
+    }
+
+    // 429/503 are part of what a load run measures
+    @Override
+    protected boolean limitsRequestRate() {
+        return false;
+    }
+
+    @Test(description = "Drive the functional flows as a weighted load workload")
+    public void runLoad() {
+        LoadRunner.Options options = LoadRunner.Options.fromSystemProperties();
+        String mix = System.getProperty("load.scenarios", "login:1,twoFactorLogin:1,shiftNoteCrud:5,emrRoundScheduling:2");
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "1.0"));
+        // Two-factor flows run one at a time per account
+        List<String> twoFactorEmails = Arrays.asList(
+                System.getProperty("load.twoFactorEmails", LoadScenarios.TWO_FACTOR_EMAIL).split("\\s*,\\s*"));
+
+        LoadMetrics metrics = new LoadMetrics();
+        RequestSpecification metricsSpec = new RequestSpecBuilder()
+                .addFilter(new LoadMetricsFilter(metrics))
+                .build();
+        LoadScenarios scenarios = new LoadScenarios(authSpec, metricsSpec, DEFAULT_CREDENTIALS, AUTH_ENDPOINT,
+                twoFactorEmails);
+
+        ExtentReportManager.getTest().log(Status.INFO, "Running " + mix + " with " + options);
+        new LoadRunner(options).run(scenarios.parse(mix), metrics);
+
+        String table = metrics.toTable();
+        LOG.info("Load results:\n{}", table);
+        metrics.writeCsv(Paths.get(REPORT_FILE));
+        ExtentReportManager.getTest().log(Status.INFO, MarkupHelper.createCodeBlock(table));
+        ExtentReportManager.getTest().log(Status.INFO, "Load results written to " + REPORT_FILE);
+
+        Assert.assertTrue(metrics.getErrorRate() <= maxErrorRate,
+                String.format("Scenario error rate %.2f%% exceeds load.maxErrorRate %.2f%%",
+                        metrics.getErrorRate() * 100, maxErrorRate * 100));
+    }
+}
@@ -0,0 +1,225 @@
+package com.restassured.demo.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restassured.demo.utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-endpoint request timings for the whole suite, keyed by templated endpoint,
+ * e.g. {@code GET /api/auth/shift-notes/{noteId}}. Timings are held in microsecond
+ * {@link LatencyHistogram}s, so exports from several runs can be merged.
+ */
+public class EndpointLatencies {
+    public static final String CSV_FILE = "test-output/latency-report.csv";
+    public static final String JSON_FILE = "test-output/latency-report.json";
+    public static final String PROMETHEUS_FILE = "test-output/latency-metrics.prom";
+
+    private static final EndpointLatencies SUITE = new EndpointLatencies();
+    private static final double[] PERCENTILES = {50, 90, 95, 99};
+
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+
+    /** The instance {@code TestConfig}'s latency filter records into. */
+    public static EndpointLatencies suite() {
+        return SUITE;
+    }
+
+    public void record(String endpoint, RequestTiming timing, long totalNanos, boolean error) {
+        Stats stats = endpoints.computeIfAbsent(endpoint, key -> new Stats());
+        stats.total.record(totalNanos / 1000);
+        if (timing.getTimeToFirstByteNanos() >= 0) {
+            stats.firstByte.record(timing.getTimeToFirstByteNanos() / 1000);
+        }
+        if (timing.getConnectNanos() > 0) {
+            stats.connect.record(timing.getConnectNanos() / 1000);
+        }
+        stats.bytesSent.add(timing.getBytesSent());
+        stats.bytesReceived.add(timing.getBytesReceived());
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Adds the counts from a {@link #writeJson} export, e.g. of another shard. Each
+     * bucket is re-recorded at its lowest value, so merged means are approximate.
+     */
+    public void mergeJson(Path file) {
+        JsonNode json;
+        try {
+            json = new ObjectMapper().readTree(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read latency report " + file, e);
+        }
+        Iterator<Map.Entry<String, JsonNode>> entries = json.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            Stats stats = endpoints.computeIfAbsent(entry.getKey(), key -> new Stats());
+            JsonNode values = entry.getValue();
+            stats.errors.add(values.path("errors").asLong());
+            stats.bytesReceived.add(values.path("bytesReceived").asLong());
+            stats.bytesSent.add(values.path("bytesSent").asLong());
+            stats.histograms().forEach((metric, h) -> {
+                for (JsonNode bucket : values.path(metric).path("buckets")) {
+                    h.recordCount(bucket.get(0).asLong(), bucket.get(1).asLong());
+                }
+            });
+        }
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /** Header row plus one row per endpoint, in milliseconds, for the report summary. */
+    public String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Endpoint", "Count", "Errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms",
+                "TTFB p50 ms", "Connect p50 ms", "KB in", "KB out"});
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            LatencyHistogram h = stats.total;
+            rows.add(new String[] {endpoint, String.valueOf(h.getCount()), String.valueOf(stats.errors.sum()),
+                    format(h.getValueAtPercentile(50)), format(h.getValueAtPercentile(90)),
+                    format(h.getValueAtPercentile(95)), format(h.getValueAtPercentile(99)), format(h.getMax()),
+                    format(stats.firstByte.getValueAtPercentile(50)), format(stats.connect.getValueAtPercentile(50)),
+                    String.format("%.1f", stats.bytesReceived.sum() / 1024.0),
+                    String.format("%.1f", stats.bytesSent.sum() / 1024.0)});
+        });
+        return rows.toArray(new String[0][]);
+    }
+
+    public void writeCsv(Path file) {
+        StringBuilder out = new StringBuilder(
+                "endpoint,metric,count,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms,errors,bytes_received,bytes_sent\n");
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> stats.histograms().forEach((metric, h) ->
+                out.append(String.format("\"%s\",%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d%n",
+                        endpoint, metric, h.getCount(), h.getMean() / 1000.0,
+                        millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                        millis(h.getValueAtPercentile(95)), millis(h.getValueAtPercentile(99)), millis(h.getMax()),
+                        stats.errors.sum(), stats.bytesReceived.sum(), stats.bytesSent.sum()))));
+        write(file, out.toString());
+    }
+
+    /** Percentiles plus raw histogram buckets ({lowest value in µs, count}), so runs can be merged. */
+    public void writeJson(Path file) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("errors", stats.errors.sum());
+            entry.put("bytesReceived", stats.bytesReceived.sum());
+            entry.put("bytesSent", stats.bytesSent.sum());
+            stats.histograms().forEach((metric, h) -> {
+                Map<String, Object> histogram = new LinkedHashMap<>();
+                histogram.put("count", h.getCount());
+                histogram.put("meanMicros", h.getMean());
+                for (double percentile : PERCENTILES) {
+                    histogram.put("p" + (int) percentile + "Micros", h.getValueAtPercentile(percentile));
+                }
+                histogram.put("maxMicros", h.getMax());
+                histogram.put("buckets", h.getBuckets());
+                entry.put(metric, histogram);
+            });
+            json.put(endpoint, entry);
+        });
+        try {
+            write(file, new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency report " + file, e);
+        }
+    }
+
+    /** Prometheus text exposition format: summaries per timing, counters for errors and bytes. */
+    public void writePrometheus(Path file) {
+        StringBuilder out = new StringBuilder();
+        Map<String, Stats> sorted = new TreeMap<>(endpoints);
+        for (String metric : new String[] {"total", "ttfb", "connect"}) {
+            String name = "api_request_" + metric + "_seconds";
+            out.append("# HELP ").append(name).append(" Request ").append(metric).append(" time per endpoint.\n");
+            out.append("# TYPE ").append(name).append(" summary\n");
+            sorted.forEach((endpoint, stats) -> {
+                LatencyHistogram h = stats.histograms().get(metric);
+                String labels = "endpoint=\"" + escape(endpoint) + "\"";
+                for (double percentile : PERCENTILES) {
+                    out.append(String.format("%s{%s,quantile=\"%s\"} %.6f%n",
+                            name, labels, percentile / 100, h.getValueAtPercentile(percentile) / 1e6));
+                }
+                out.append(String.format("%s_sum{%s} %.6f%n", name, labels, h.getMean() * h.getCount() / 1e6));
+                out.append(String.format("%s_count{%s} %d%n", name, labels, h.getCount()));
+            });
+        }
+        appendCounter(out, sorted, "api_request_errors_total", "Requests answered with status >= 400 or failed.",
+                stats -> stats.errors.sum());
+        appendCounter(out, sorted, "api_response_bytes_total", "Response body bytes received.",
+                stats -> stats.bytesReceived.sum());
+        appendCounter(out, sorted, "api_request_bytes_total", "Request body bytes sent.",
+                stats -> stats.bytesSent.sum());
+        write(file, out.toString());
+    }
+
+    private static void appendCounter(StringBuilder out, Map<String, Stats> endpoints, String name, String help,
+                                      ToLongFunction<Stats> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        endpoints.forEach((endpoint, stats) -> out.append(String.format("%s{endpoint=\"%s\"} %d%n",
+                name, escape(endpoint), value.applyAsLong(stats))));
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency report " + file, e);
+        }
+    }
+
+    private static String format(long micros) {
+        return String.format("%.1f", millis(micros));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static class Stats {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram firstByte = new LatencyHistogram();
+        private final LatencyHistogram connect = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+
+        Map<String, LatencyHistogram> histograms() {
+            Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+            histograms.put("total", total);
+            histograms.put("ttfb", firstByte);
+            histograms.put("connect", connect);
+            return histograms;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.restassured.demo.metrics;
+
+import com.restassured.demo.utils.ThreadBinding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the latencies of HTTP calls made on the current thread between
+ * {@link #start()} and {@link #stop()}, so a single test method's calls can be
+ * evaluated on their own. Recording is a no-op while no collection is active.
+ * Threads making calls on behalf of the test join its collection through
+ * {@link #capture()}.
+ */
+public final class LatencySamples {
+    private static final ThreadLocal<List<Sample>> ACTIVE = new ThreadLocal<>();
+
+    private LatencySamples() {
+    }
+
+    public static void start() {
+        ACTIVE.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /** The current thread's collection, if one is active, for threads making calls on behalf of its test. */
+    public static ThreadBinding capture() {
+        List<Sample> samples = ACTIVE.get();
+        return () -> {
+            ACTIVE.set(samples);
+            return ACTIVE::remove;
+        };
+    }
+
+    public static List<Sample> stop() {
+        List<Sample> samples = ACTIVE.get();
+        ACTIVE.remove();
+        return samples == null ? Collections.emptyList() : samples;
+    }
+
+    public static void record(String endpoint, long micros) {
+        List<Sample> samples = ACTIVE.get();
+        if (samples != null) {
+            samples.add(new Sample(endpoint, micros));
+        }
+    }
+
+    public static class Sample {
+        private final String endpoint;
+        private final long micros;
+
+        Sample(String endpoint, long micros) {
+            this.endpoint = endpoint;
+            this.micros = micros;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getMicros() {
+            return micros;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.restassured.demo.metrics;
+
+/**
+ * Transport-level timings of the HTTP exchange in flight on the current thread.
+ * {@code LatencyFilter} starts a timing right before the request is sent; the
+ * pooled HTTP client reports connection setup, first response byte and body
+ * sizes into it as they happen.
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> CURRENT = ThreadLocal.withInitial(RequestTiming::new);
+
+    private long startNanos;
+    private long connectNanos;
+    private long firstByteNanos;
+    private long bytesSent;
+    private long bytesReceived;
+
+    private RequestTiming() {
+    }
+
+    /** Resets and returns the current thread's timing, starting the clock. */
+    public static RequestTiming start() {
+        RequestTiming timing = CURRENT.get();
+        timing.startNanos = System.nanoTime();
+        timing.connectNanos = 0;
+        timing.firstByteNanos = 0;
+        timing.bytesSent = 0;
+        timing.bytesReceived = 0;
+        return timing;
+    }
+
+    public static void connected(long nanos) {
+        CURRENT.get().connectNanos += nanos;
+    }
+
+    public static void firstByte() {
+        RequestTiming timing = CURRENT.get();
+        if (timing.firstByteNanos == 0) {
+            timing.firstByteNanos = System.nanoTime();
+        }
+    }
+
+    public static void sent(long bytes) {
+        if (bytes > 0) {
+            CURRENT.get().bytesSent += bytes;
+        }
+    }
+
+    public static void received(long bytes) {
+        if (bytes > 0) {
+            CURRENT.get().bytesReceived += bytes;
+        }
+    }
+
+    /** Time spent opening new connections, 0 when a pooled connection was reused. */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /** Time to the first response byte, or -1 if no response arrived. */
+    public long getTimeToFirstByteNanos() {
+        return firstByteNanos == 0 ? -1 : firstByteNanos - startNanos;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+}
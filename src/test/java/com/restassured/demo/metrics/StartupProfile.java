@@ -0,0 +1,155 @@
+package com.restassured.demo.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Where the time before the first test goes. Suite setup runs its steps through
+ * {@link #time} and {@link #concurrently}; each step is recorded with the thread it
+ * ran on and its offset from JVM start, and {@code TestListener} marks the first
+ * test, so the report shows time-to-first-test and what every step contributed.
+ * Independent warm-up steps run on their own threads, unless
+ * {@code -Dstartup.parallel=false} asks for them one after another for comparison.
+ */
+public class StartupProfile {
+    private static final StartupProfile SUITE = new StartupProfile();
+    private static final boolean PARALLEL = Boolean.parseBoolean(System.getProperty("startup.parallel", "true"));
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Queue<Step> steps = new ConcurrentLinkedQueue<>();
+    private final Queue<Phase> phases = new ConcurrentLinkedQueue<>();
+    private final AtomicLong firstTestMillis = new AtomicLong(-1);
+
+    /** The profile of this JVM's suite setup. */
+    public static StartupProfile suite() {
+        return SUITE;
+    }
+
+    public void time(String step, Runnable work) {
+        time(step, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T time(String step, Supplier<T> work) {
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            steps.add(new Step(step, Thread.currentThread().getName(), startMillis - jvmStartMillis,
+                    System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Runs independent steps at the same time, one thread each, and waits for all of
+     * them; the first failure is rethrown once every step has finished.
+     */
+    public void concurrently(String phase, Map<String, Runnable> work) {
+        long start = System.nanoTime();
+        if (!PARALLEL) {
+            work.forEach(this::time);
+        } else {
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(work.size(), runnable -> {
+                Thread thread = new Thread(runnable, "startup-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<CompletableFuture<Void>> running = new ArrayList<>();
+                work.forEach((step, runnable) -> running.add(CompletableFuture.runAsync(() -> time(step, runnable), executor)));
+                CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            } finally {
+                executor.shutdown();
+            }
+        }
+        phases.add(new Phase(phase, Set.copyOf(work.keySet()), System.nanoTime() - start));
+    }
+
+    /** Called as each test starts; only the first call counts. */
+    public void testStarted() {
+        firstTestMillis.compareAndSet(-1, System.currentTimeMillis());
+    }
+
+    /** Milliseconds from JVM start to the first test, or -1 before it. */
+    public long getTimeToFirstTestMillis() {
+        long first = firstTestMillis.get();
+        return first < 0 ? -1 : first - jvmStartMillis;
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    public void reset() {
+        steps.clear();
+        phases.clear();
+        firstTestMillis.set(-1);
+    }
+
+    /**
+     * Header row, one row per step in start order, then per concurrent phase its wall
+     * time against the sum of its steps, and time-to-first-test.
+     */
+    public String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Step", "Thread", "Started at ms", "Duration ms"});
+        steps.stream()
+                .sorted(Comparator.comparingLong(step -> step.offsetMillis))
+                .forEach(step -> rows.add(new String[] {step.name, step.thread, String.valueOf(step.offsetMillis),
+                        String.format("%.1f", step.nanos / 1e6)}));
+        for (Phase phase : phases) {
+            double sequential = steps.stream().filter(step -> phase.steps.contains(step.name))
+                    .mapToLong(step -> step.nanos).sum() / 1e6;
+            rows.add(new String[] {String.format("%s (%s, steps sum to %.1f ms)", phase.name,
+                    PARALLEL ? "concurrent" : "sequential", sequential), "", "", String.format("%.1f", phase.nanos / 1e6)});
+        }
+        long timeToFirstTest = getTimeToFirstTestMillis();
+        rows.add(new String[] {"Time to first test", "", "", timeToFirstTest < 0 ? "n/a" : String.valueOf(timeToFirstTest)});
+        return rows.toArray(new String[0][]);
+    }
+
+    private static class Step {
+        private final String name;
+        private final String thread;
+        private final long offsetMillis;
+        private final long nanos;
+
+        Step(String name, String thread, long offsetMillis, long nanos) {
+            this.name = name;
+            this.thread = thread;
+            this.offsetMillis = offsetMillis;
+            this.nanos = nanos;
+        }
+    }
+
+    private static class Phase {
+        private final String name;
+        private final Set<String> steps;
+        private final long nanos;
+
+        Phase(String name, Set<String> steps, long nanos) {
+            this.name = name;
+            this.steps = steps;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.restassured.demo.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TestResources} usage of every test method invocation in the suite, one row
+ * per data row for data-driven methods, exported as CSV so the most expensive tests
+ * can be found and sorted by any column.
+ */
+public class TestResourceReport {
+    public static final String CSV_FILE = "test-output/test-resources.csv";
+
+    private static final TestResourceReport SUITE = new TestResourceReport();
+    private static final String CSV_HEADER = "test,data_row,status,http_calls,bytes_sent,bytes_received,"
+            + "wall_ms,network_ms,cpu_ms,allocated_bytes";
+
+    private final Queue<Row> rows = new ConcurrentLinkedQueue<>();
+
+    /** The instance {@code TestListener} records into. */
+    public static TestResourceReport suite() {
+        return SUITE;
+    }
+
+    /** {@code dataRow} is the row's number in its data provider, empty for methods without one. */
+    public void record(String test, String dataRow, String status, TestResources.Usage usage) {
+        rows.add(new Row(test, dataRow, status, usage.getCalls(), usage.getBytesSent(), usage.getBytesReceived(),
+                usage.getWallNanos() / 1e6, usage.getNetworkNanos() / 1e6,
+                usage.getCpuNanos() < 0 ? -1 : usage.getCpuNanos() / 1e6, usage.getAllocatedBytes()));
+    }
+
+    /** Adds the rows of a {@link #writeCsv} export, e.g. of another shard. */
+    public void mergeCsv(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test resource report " + file, e);
+        }
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            List<String> fields = parseCsvLine(line);
+            if (fields.size() == 10) {
+                rows.add(new Row(fields.get(0), fields.get(1), fields.get(2), Integer.parseInt(fields.get(3)),
+                        Long.parseLong(fields.get(4)), Long.parseLong(fields.get(5)), Double.parseDouble(fields.get(6)),
+                        Double.parseDouble(fields.get(7)), Double.parseDouble(fields.get(8)),
+                        Long.parseLong(fields.get(9))));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
+    public void reset() {
+        rows.clear();
+    }
+
+    /** Header row plus one row for a single test's usage, for its entry in the report. */
+    public static String[][] toTable(TestResources.Usage usage) {
+        return new String[][] {
+                {"HTTP calls", "KB out", "KB in", "Wall ms", "Network ms", "CPU ms", "Allocated MB"},
+                {String.valueOf(usage.getCalls()), kilobytes(usage.getBytesSent()), kilobytes(usage.getBytesReceived()),
+                        String.format("%.1f", usage.getWallNanos() / 1e6),
+                        String.format("%.1f", usage.getNetworkNanos() / 1e6),
+                        usage.getCpuNanos() < 0 ? "n/a" : String.format("%.1f", usage.getCpuNanos() / 1e6),
+                        megabytes(usage.getAllocatedBytes())}};
+    }
+
+    /** Header row plus the {@code limit} rows that allocated the most, for the report summary. */
+    public String[][] toTable(int limit) {
+        List<String[]> table = new ArrayList<>();
+        table.add(new String[] {"Test", "Data row", "Status", "HTTP calls", "KB out", "KB in", "Wall ms",
+                "Network ms", "CPU ms", "Allocated MB"});
+        sorted().stream().limit(limit).forEach(row -> table.add(new String[] {row.test, row.dataRow, row.status,
+                String.valueOf(row.calls), kilobytes(row.bytesSent), kilobytes(row.bytesReceived),
+                String.format("%.1f", row.wallMillis), String.format("%.1f", row.networkMillis),
+                row.cpuMillis < 0 ? "n/a" : String.format("%.1f", row.cpuMillis), megabytes(row.allocatedBytes)}));
+        return table.toArray(new String[0][]);
+    }
+
+    /** All rows, most allocating first. */
+    public void writeCsv(Path file) {
+        StringBuilder out = new StringBuilder(CSV_HEADER).append('\n');
+        sorted().forEach(row -> out.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%.3f,%.3f,%.3f,%d%n",
+                quote(row.test), quote(row.dataRow), row.status, row.calls, row.bytesSent, row.bytesReceived,
+                row.wallMillis, row.networkMillis, row.cpuMillis, row.allocatedBytes)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, out.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test resource report " + file, e);
+        }
+    }
+
+    private List<Row> sorted() {
+        return rows.stream()
+                .sorted(Comparator.comparingLong((Row row) -> row.allocatedBytes)
+                        .thenComparingDouble(row -> row.cpuMillis).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String kilobytes(long bytes) {
+        return String.format("%.1f", bytes / 1024.0);
+    }
+
+    private static String megabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.2f", bytes / (1024.0 * 1024.0));
+    }
+
+    private static class Row {
+        private final String test;
+        private final String dataRow;
+        private final String status;
+        private final int calls;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final double wallMillis;
+        private final double networkMillis;
+        private final double cpuMillis;
+        private final long allocatedBytes;
+
+        Row(String test, String dataRow, String status, int calls, long bytesSent, long bytesReceived,
+            double wallMillis, double networkMillis, double cpuMillis, long allocatedBytes) {
+            this.test = test;
+            this.dataRow = dataRow;
+            this.status = status;
+            this.calls = calls;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.wallMillis = wallMillis;
+            this.networkMillis = networkMillis;
+            this.cpuMillis = cpuMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
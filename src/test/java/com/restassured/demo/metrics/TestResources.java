@@ -0,0 +1,142 @@
+package com.restassured.demo.metrics;
+
+import com.restassured.demo.utils.ThreadBinding;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Client-side resources used by the test running on the current thread between
+ * {@link #start()} and {@link #stop()}: HTTP calls and bytes (reported by
+ * {@code LatencyFilter}), wall time versus time spent in HTTP exchanges, thread
+ * CPU time and bytes allocated. Calls the test fans out to other threads count
+ * through {@link #capture()}, but only CPU and allocations of the test's own
+ * thread are measured; other work such as pre-provisioned fixtures is not
+ * included. CPU and allocation figures are -1 when the JVM does not support
+ * measuring them.
+ */
+public final class TestResources {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+    private static final ThreadLocal<TestResources> ACTIVE = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long startCpuNanos = cpuNanos();
+    private final long startAllocatedBytes = allocatedBytes();
+    private int calls;
+    private long bytesSent;
+    private long bytesReceived;
+    private long networkNanos;
+
+    private TestResources() {
+    }
+
+    public static void start() {
+        ACTIVE.set(new TestResources());
+    }
+
+    /** The current thread's measurement, if one is active, for threads making calls on behalf of its test. */
+    public static ThreadBinding capture() {
+        TestResources active = ACTIVE.get();
+        return () -> {
+            ACTIVE.set(active);
+            return ACTIVE::remove;
+        };
+    }
+
+    /** The usage since {@link #start()}, or null when nothing was started on this thread. */
+    public static Usage stop() {
+        TestResources active = ACTIVE.get();
+        ACTIVE.remove();
+        if (active == null) {
+            return null;
+        }
+        long cpu = cpuNanos();
+        long allocated = allocatedBytes();
+        synchronized (active) {
+            return new Usage(active.calls, active.bytesSent, active.bytesReceived, System.nanoTime() - active.startNanos,
+                    active.networkNanos, cpu < 0 || active.startCpuNanos < 0 ? -1 : cpu - active.startCpuNanos,
+                    allocated < 0 || active.startAllocatedBytes < 0 ? -1 : allocated - active.startAllocatedBytes);
+        }
+    }
+
+    public static void recordExchange(RequestTiming timing, long elapsedNanos) {
+        TestResources active = ACTIVE.get();
+        if (active != null) {
+            synchronized (active) {
+                active.calls++;
+                active.bytesSent += timing.getBytesSent();
+                active.bytesReceived += timing.getBytesReceived();
+                active.networkNanos += elapsedNanos;
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static class Usage {
+        private final int calls;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final long wallNanos;
+        private final long networkNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        Usage(int calls, long bytesSent, long bytesReceived, long wallNanos, long networkNanos, long cpuNanos,
+              long allocatedBytes) {
+            this.calls = calls;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.wallNanos = wallNanos;
+            this.networkNanos = networkNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getNetworkNanos() {
+            return networkNanos;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
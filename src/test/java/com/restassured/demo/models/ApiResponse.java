@@ -0,0 +1,45 @@
+package com.restassured.demo.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Envelope of every API response: a message, the payload under {@code results}
+ * and per-field validation errors under {@code details}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ApiResponse<T> {
+    private String message;
+    private T results;
+    private Map<String, List<String>> details;
+
+    @JsonProperty("message")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @JsonProperty("results")
+    public T getResults() {
+        return results;
+    }
+
+    public void setResults(T results) {
+        this.results = results;
+    }
+
+    @JsonProperty("details")
+    public Map<String, List<String>> getDetails() {
+        return details;
+    }
+
+    public void setDetails(Map<String, List<String>> details) {
+        this.details = details;
+    }
+}
@@ -0,0 +1,58 @@
+package com.restassured.demo.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmrRoundSchedule {
+    private Integer id;
+    private Integer roundId;
+    private Integer clientId;
+    private String clinicianId;
+    private Integer treatmentEpisodeId;
+
+    @JsonProperty("id")
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    @JsonProperty("round_id")
+    public Integer getRoundId() {
+        return roundId;
+    }
+
+    public void setRoundId(Integer roundId) {
+        this.roundId = roundId;
+    }
+
+    @JsonProperty("client_id")
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Integer clientId) {
+        this.clientId = clientId;
+    }
+
+    @JsonProperty("clinician_id")
+    public String getClinicianId() {
+        return clinicianId;
+    }
+
+    public void setClinicianId(String clinicianId) {
+        this.clinicianId = clinicianId;
+    }
+
+    @JsonProperty("treatment_episode_id")
+    public Integer getTreatmentEpisodeId() {
+        return treatmentEpisodeId;
+    }
+
+    public void setTreatmentEpisodeId(Integer treatmentEpisodeId) {
+        this.treatmentEpisodeId = treatmentEpisodeId;
+    }
+}
@@ -0,0 +1,90 @@
+package com.restassured.demo.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShiftNote {
+    private Integer id;
+    private String clinicianId;
+    private Integer locationId;
+    private String shift;
+    private String note;
+    private String startDate;
+    private String endDate;
+    private List<ShiftNoteClient> clients;
+
+    @JsonProperty("id")
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    @JsonProperty("clinician_id")
+    public String getClinicianId() {
+        return clinicianId;
+    }
+
+    public void setClinicianId(String clinicianId) {
+        this.clinicianId = clinicianId;
+    }
+
+    @JsonProperty("location_id")
+    public Integer getLocationId() {
+        return locationId;
+    }
+
+    public void setLocationId(Integer locationId) {
+        this.locationId = locationId;
+    }
+
+    @JsonProperty("shift")
+    public String getShift() {
+        return shift;
+    }
+
+    public void setShift(String shift) {
+        this.shift = shift;
+    }
+
+    @JsonProperty("note")
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+
+    @JsonProperty("start_date")
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    @JsonProperty("end_date")
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    @JsonProperty("clients")
+    public List<ShiftNoteClient> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<ShiftNoteClient> clients) {
+        this.clients = clients;
+    }
+}
@@ -0,0 +1,38 @@
+package com.restassured.demo.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ShiftNoteClient {
+    private Integer id;
+    private Integer clientId;
+    private ShiftNote shiftNotes;
+
+    @JsonProperty("id")
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    @JsonProperty("client_id")
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Integer clientId) {
+        this.clientId = clientId;
+    }
+
+    @JsonProperty("shift_notes")
+    public ShiftNote getShiftNotes() {
+        return shiftNotes;
+    }
+
+    public void setShiftNotes(ShiftNote shiftNotes) {
+        this.shiftNotes = shiftNotes;
+    }
+}
@@ -0,0 +1,41 @@
+package com.restassured.demo.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of the 2FA endpoints; retrieving a code only needs the email.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TwoFactorVerify {
+    private String authCode;
+    private String email;
+    private String password;
+
+    @JsonProperty("auth_code")
+    public String getAuthCode() {
+        return authCode;
+    }
+
+    public void setAuthCode(String authCode) {
+        this.authCode = authCode;
+    }
+
+    @JsonProperty("email")
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @JsonProperty("password")
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+}
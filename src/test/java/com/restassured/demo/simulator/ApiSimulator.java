@@ -0,0 +1,555 @@
+package com.restassured.demo.simulator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the remote test API. Implements the endpoints the suites
+ * use and keeps shift notes and scheduled EMR rounds in memory, so the whole suite
+ * can run offline. Enable it with {@code -Dapi.simulator=true}. Successful GETs
+ * carry an ETag and are answered with 304 when If-None-Match still matches.
+ *
+ * <p>Behaviour can be tuned with system properties:
+ * <ul>
+ *   <li>{@code simulator.port} - port to bind, 0 (default) picks a free one</li>
+ *   <li>{@code simulator.latencyMs} - added latency per request</li>
+ *   <li>{@code simulator.errorRate} - fraction of requests answered with 503</li>
+ *   <li>{@code simulator.maxRequestsPerSecond} - capacity; requests beyond it get 429 with Retry-After (0 = unlimited)</li>
+ *   <li>{@code simulator.roundDelayMs} - time before a scheduled round becomes visible</li>
+ *   <li>{@code simulator.tokenTtlSeconds} - lifetime of issued tokens</li>
+ *   <li>{@code simulator.http2} - serve with Jetty, which also speaks cleartext HTTP/2 (h2c),
+ *       instead of the JDK's HTTP/1.1-only server</li>
+ * </ul>
+ */
+public class ApiSimulator {
+    private static final String PASSWORD = "dummyTestPassword123!";
+    private static final String USER_EMAIL = "dummy.test@gmail.com";
+    private static final String TWO_FACTOR_EMAIL = "dummy.test+2fa@gmail.com";
+    private static final Pattern SHIFT_NOTE_PATH = Pattern.compile("/api/auth/shift-notes/(\\d+)");
+    private static final Pattern POST_PATH = Pattern.compile("/posts/(\\d+)");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int port;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final long roundDelayMillis;
+    private final long tokenTtlSeconds;
+    private final int maxRequestsPerSecond;
+    private final boolean http2;
+
+    private final Map<String, Long> tokens = new ConcurrentHashMap<>();
+    private final Map<String, String> twoFactorCodes = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<String, Object>> shiftNotes = new ConcurrentHashMap<>();
+    private final Map<Integer, ScheduledRound> rounds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextShiftNoteId = new AtomicInteger(1000);
+    private final AtomicInteger nextRoundId = new AtomicInteger(1);
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger requestsThisSecond = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private Server jetty;
+
+    public ApiSimulator(int port, long latencyMillis, double errorRate, long roundDelayMillis, long tokenTtlSeconds,
+                        int maxRequestsPerSecond) {
+        this(port, latencyMillis, errorRate, roundDelayMillis, tokenTtlSeconds, maxRequestsPerSecond, false);
+    }
+
+    public ApiSimulator(int port, long latencyMillis, double errorRate, long roundDelayMillis, long tokenTtlSeconds,
+                        int maxRequestsPerSecond, boolean http2) {
+        this.http2 = http2;
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.roundDelayMillis = roundDelayMillis;
+        this.tokenTtlSeconds = tokenTtlSeconds;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    public static ApiSimulator fromSystemProperties() {
+        return new ApiSimulator(
+                Integer.getInteger("simulator.port", 0),
+                Long.getLong("simulator.latencyMs", 0),
+                Double.parseDouble(System.getProperty("simulator.errorRate", "0")),
+                Long.getLong("simulator.roundDelayMs", 1000),
+                Long.getLong("simulator.tokenTtlSeconds", 3600),
+                Integer.getInteger("simulator.maxRequestsPerSecond", 0),
+                Boolean.getBoolean("simulator.http2"));
+    }
+
+    public synchronized ApiSimulator start() {
+        if (http2) {
+            return startJetty();
+        }
+        // Without TCP_NODELAY, header and body writes hit Nagle/delayed-ACK stalls of ~40ms per response
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start API simulator on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "api-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    // One connector for HTTP/1.1 and h2c, either by upgrade or with prior knowledge
+    private ApiSimulator startJetty() {
+        QueuedThreadPool threads = new QueuedThreadPool(200, 8);
+        threads.setName("api-simulator");
+        threads.setDaemon(true);
+        jetty = new Server(threads);
+        HttpConfiguration config = new HttpConfiguration();
+        config.setSendServerVersion(false);
+        ServerConnector connector = new ServerConnector(jetty, new HttpConnectionFactory(config),
+                new HTTP2CServerConnectionFactory(config));
+        connector.setHost(InetAddress.getLoopbackAddress().getHostAddress());
+        connector.setPort(port);
+        jetty.addConnector(connector);
+        jetty.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                ApiSimulator.this.handle(new JettyExchange(request, response));
+            }
+        });
+        try {
+            jetty.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to start API simulator on port " + port, e);
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (jetty != null) {
+            try {
+                jetty.stop();
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to stop API simulator", e);
+            }
+            jetty = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public String getBaseUri() {
+        int boundPort = jetty != null ? ((ServerConnector) jetty.getConnectors()[0]).getLocalPort()
+                : server.getAddress().getPort();
+        return "http://localhost:" + boundPort;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (overCapacity()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, message("Too many requests (injected by simulator)"));
+                return;
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 503, message("Service unavailable (injected by simulator)"));
+                return;
+            }
+            route(exchange);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            respond(exchange, 500, message("Simulator error: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Fixed one-second windows; good enough to push back on a client that sends too fast
+    private boolean overCapacity() {
+        if (maxRequestsPerSecond <= 0) {
+            return false;
+        }
+        long second = System.currentTimeMillis() / 1000;
+        long previous = currentSecond.get();
+        if (second != previous && currentSecond.compareAndSet(previous, second)) {
+            requestsThisSecond.set(0);
+        }
+        return requestsThisSecond.incrementAndGet() > maxRequestsPerSecond;
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Matcher shiftNote = SHIFT_NOTE_PATH.matcher(path);
+        Matcher post = POST_PATH.matcher(path);
+
+        if (path.equals("/api/auth/login") && method.equals("POST")) {
+            login(exchange);
+        } else if (path.equals("/api/auth/retrieve-two-factor-code") && method.equals("POST")) {
+            retrieveTwoFactorCode(exchange);
+        } else if (path.equals("/api/auth/verify-two-factor-auth") && method.equals("POST")) {
+            verifyTwoFactor(exchange);
+        } else if (path.equals("/posts") && method.equals("GET")) {
+            listPosts(exchange);
+        } else if (path.equals("/posts") && method.equals("POST")) {
+            createPost(exchange);
+        } else if (post.matches() && method.equals("GET")) {
+            getPost(exchange, Integer.parseInt(post.group(1)));
+        } else if (!isAuthenticated(exchange)) {
+            respond(exchange, 401, message("Unauthenticated."));
+        } else if (path.equals("/api/auth/shift-notes") && method.equals("POST")) {
+            createShiftNote(exchange);
+        } else if (path.equals("/api/auth/shift-notes-clients") && method.equals("GET")) {
+            shiftNotesClients(exchange);
+        } else if (shiftNote.matches()) {
+            int noteId = Integer.parseInt(shiftNote.group(1));
+            switch (method) {
+                case "GET":
+                    getShiftNote(exchange, noteId);
+                    break;
+                case "PUT":
+                    updateShiftNote(exchange, noteId);
+                    break;
+                case "DELETE":
+                    archiveShiftNote(exchange, noteId);
+                    break;
+                default:
+                    respond(exchange, 405, message("Method not allowed"));
+            }
+        } else if (path.equals("/api/auth/rounds/emr-rounds") && method.equals("POST")) {
+            scheduleRound(exchange);
+        } else if (path.equals("/api/auth/rounds/emr-past-rounds") && method.equals("GET")) {
+            pastRounds(exchange);
+        } else {
+            respond(exchange, 404, message("Not found"));
+        }
+    }
+
+    // ---- Authentication ----
+
+    private void login(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String email = (String) body.get("email");
+        String password = (String) body.get("password");
+
+        if (email == null || !email.contains("@")) {
+            respond(exchange, 422, validationError("email", "The email must be a valid email address."));
+        } else if (password == null || password.isEmpty()) {
+            respond(exchange, 422, validationError("password", "The password field is required."));
+        } else if (!PASSWORD.equals(password) || !(USER_EMAIL.equals(email) || TWO_FACTOR_EMAIL.equals(email))) {
+            respond(exchange, 401, validationError("password", "The provided password is incorrect."));
+        } else if (TWO_FACTOR_EMAIL.equals(email)) {
+            twoFactorCodes.put(email, String.format("%06d", ThreadLocalRandom.current().nextInt(1_000_000)));
+            respond(exchange, 200, message("A verification code has been sent to the registered email"));
+        } else {
+            respond(exchange, 200, tokenResponse(email));
+        }
+    }
+
+    private void retrieveTwoFactorCode(HttpExchange exchange) throws IOException {
+        String code = twoFactorCodes.get((String) readBody(exchange).get("email"));
+        if (code == null) {
+            respond(exchange, 404, message("No pending verification code"));
+            return;
+        }
+        Map<String, Object> response = message("Verification code retrieved");
+        response.put("results", code);
+        respond(exchange, 200, response);
+    }
+
+    private void verifyTwoFactor(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = readBody(exchange);
+        String email = (String) body.get("email");
+        String code = twoFactorCodes.get(email);
+        if (code == null || !code.equals(body.get("auth_code")) || !PASSWORD.equals(body.get("password"))) {
+            respond(exchange, 401, message("Invalid verification code"));
+            return;
+        }
+        twoFactorCodes.remove(email);
+        respond(exchange, 200, tokenResponse(email));
+    }
+
+    private Map<String, Object> tokenResponse(String email) {
+        long expiresAt = System.currentTimeMillis() / 1000 + tokenTtlSeconds;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(("{\"sub\":\"" + email + "\",\"exp\":" + expiresAt + ",\"jti\":\""
+                        + ThreadLocalRandom.current().nextLong() + "\"}").getBytes(StandardCharsets.UTF_8))
+                + ".simulator";
+        tokens.put(token, expiresAt);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("token", token);
+        Map<String, Object> response = message("Login successful");
+        response.put("results", results);
+        return response;
+    }
+
+    private boolean isAuthenticated(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return false;
+        }
+        Long expiresAt = tokens.get(header.substring("Bearer ".length()));
+        return expiresAt != null && expiresAt > System.currentTimeMillis() / 1000;
+    }
+
+    // ---- Shift notes ----
+
+    private void createShiftNote(HttpExchange exchange) throws IOException {
+        Map<String, Object> note = toShiftNote(nextShiftNoteId.incrementAndGet(), readBody(exchange));
+        shiftNotes.put((Integer) note.get("id"), note);
+        Map<String, Object> response = message("Shift note successfully added");
+        response.put("results", note);
+        respond(exchange, 201, response);
+    }
+
+    private void shiftNotesClients(HttpExchange exchange) throws IOException {
+        String noteId = queryParams(exchange).get("shift_note_id");
+        List<Map<String, Object>> data = new ArrayList<>();
+        Map<String, Object> note = noteId == null ? null : activeShiftNote(Integer.parseInt(noteId));
+        if (note != null) {
+            for (Object client : (List<?>) note.get("clients")) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("client_id", ((Map<?, ?>) client).get("client_id"));
+                row.put("shift_notes", note);
+                data.add(row);
+            }
+        }
+        respond(exchange, 200, dataResponse(data));
+    }
+
+    private void getShiftNote(HttpExchange exchange, int noteId) throws IOException {
+        Map<String, Object> response = message("Shift note retrieved");
+        response.put("results", activeShiftNote(noteId));
+        respond(exchange, 200, response);
+    }
+
+    private void updateShiftNote(HttpExchange exchange, int noteId) throws IOException {
+        if (activeShiftNote(noteId) == null) {
+            respond(exchange, 404, message("Shift note not found"));
+            return;
+        }
+        Map<String, Object> note = toShiftNote(noteId, readBody(exchange));
+        shiftNotes.put(noteId, note);
+        Map<String, Object> response = message("Shift note successfully updated");
+        response.put("results", note);
+        respond(exchange, 200, response);
+    }
+
+    private void archiveShiftNote(HttpExchange exchange, int noteId) throws IOException {
+        Map<String, Object> note = activeShiftNote(noteId);
+        if (note == null) {
+            respond(exchange, 404, message("Shift note not found"));
+            return;
+        }
+        // Stored notes are never mutated in place, so concurrent readers always see a consistent copy
+        Map<String, Object> archived = new LinkedHashMap<>(note);
+        archived.put("archived", true);
+        shiftNotes.put(noteId, archived);
+        respond(exchange, 200, message("Shift note successfully archived"));
+    }
+
+    private Map<String, Object> activeShiftNote(int noteId) {
+        Map<String, Object> note = shiftNotes.get(noteId);
+        return note == null || Boolean.TRUE.equals(note.get("archived")) ? null : note;
+    }
+
+    private static Map<String, Object> toShiftNote(int id, Map<String, Object> body) {
+        Map<String, Object> note = new LinkedHashMap<>();
+        note.put("id", id);
+        note.put("clinician_id", Integer.parseInt(String.valueOf(body.get("clinician_id"))));
+        note.put("location_id", body.get("location_id"));
+        note.put("shift", body.get("shift"));
+        note.put("note", body.get("note"));
+        note.put("start_date", body.get("start_date"));
+        note.put("end_date", body.get("end_date"));
+        Object clients = body.get("clients");
+        note.put("clients", clients instanceof List ? clients : Collections.emptyList());
+        note.put("archived", false);
+        return note;
+    }
+
+    // ---- EMR rounds ----
+
+    private void scheduleRound(HttpExchange exchange) throws IOException {
+        Map<String, Object> round = new LinkedHashMap<>(readBody(exchange));
+        round.put("id", nextRoundId.incrementAndGet());
+        rounds.put((Integer) round.get("id"),
+                new ScheduledRound(round, System.currentTimeMillis() + roundDelayMillis));
+        Map<String, Object> response = message("EMR round successfully scheduled");
+        response.put("results", round);
+        respond(exchange, 201, response);
+    }
+
+    private void pastRounds(HttpExchange exchange) throws IOException {
+        Map<String, String> query = queryParams(exchange);
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (ScheduledRound round : rounds.values()) {
+            if (round.visibleAt <= now
+                    && matches(round.data.get("client_id"), query.get("clientId"))
+                    && matches(round.data.get("treatment_episode_id"), query.get("treatmentEpisodeId"))) {
+                data.add(round.data);
+            }
+        }
+        respond(exchange, 200, dataResponse(data));
+    }
+
+    private static boolean matches(Object value, String filter) {
+        return filter == null || filter.equals(String.valueOf(value));
+    }
+
+    // ---- Posts ----
+
+    private void listPosts(HttpExchange exchange) throws IOException {
+        List<Map<String, Object>> posts = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            posts.add(post(id));
+        }
+        respond(exchange, 200, posts);
+    }
+
+    private void getPost(HttpExchange exchange, int id) throws IOException {
+        if (id < 1 || id > 100) {
+            respond(exchange, 404, Collections.emptyMap());
+            return;
+        }
+        respond(exchange, 200, post(id));
+    }
+
+    private void createPost(HttpExchange exchange) throws IOException {
+        Map<String, Object> post = new LinkedHashMap<>(readBody(exchange));
+        post.put("id", 101);
+        respond(exchange, 201, post);
+    }
+
+    private static Map<String, Object> post(int id) {
+        Map<String, Object> post = new LinkedHashMap<>();
+        post.put("userId", (id - 1) / 10 + 1);
+        post.put("id", id);
+        post.put("title", "Simulated post " + id);
+        post.put("body", "Body of simulated post " + id);
+        return post;
+    }
+
+    // ---- Helpers ----
+
+    private static Map<String, Object> message(String message) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", message);
+        return response;
+    }
+
+    private static Map<String, Object> validationError(String field, String error) {
+        Map<String, Object> response = message("The given data was invalid: " + error);
+        response.put("details", Collections.singletonMap(field, Collections.singletonList(error)));
+        return response;
+    }
+
+    private static Map<String, Object> dataResponse(List<Map<String, Object>> data) {
+        Map<String, Object> response = message("Records retrieved");
+        response.put("results", Collections.singletonMap("data", data));
+        return response;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) {
+                return new LinkedHashMap<>();
+            }
+            return MAPPER.readValue(bytes, new TypeReference<Map<String, Object>>() { });
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new LinkedHashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (status == 200 && exchange.getRequestMethod().equals("GET")) {
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class ScheduledRound {
+        private final Map<String, Object> data;
+        private final long visibleAt;
+
+        ScheduledRound(Map<String, Object> data, long visibleAt) {
+            this.data = data;
+            this.visibleAt = visibleAt;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.restassured.demo.tests;
 
 import com.restassured.demo.config.TestConfig;
+import com.restassured.demo.models.ApiResponse;
 import com.restassured.demo.models.LoginRequest;
+import com.restassured.demo.models.TwoFactorVerify;
+import io.restassured.common.mapper.TypeRef;
 import io.restassured.http.ContentType;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -9,7 +12,7 @@ import com.restassured.demo.utils.ExcelDataReader;
 import com.aventstack.extentreports.Status;
 import com.restassured.demo.utils.ExtentReportManager;
 import org.testng.annotations.Listeners;
-import io.restassured.response.Response;
+import java.util.Iterator;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -17,9 +20,10 @@ import static org.hamcrest.Matchers.*;
 @Listeners(com.restassured.demo.listeners.TestListener.class)
 public class AuthenticationTest extends TestConfig {
 
+    // Sequential, so rows are read as the tests consume them (see ExcelDataReader.streamTestData)
     @DataProvider(name = "loginTestData")
-    public Object[][] loginTestData() {
-        return ExcelDataReader.readTestData("login-test-data.xlsx", "LoginTests");
+    public Iterator<Object[]> loginTestData() {
+        return ExcelDataReader.streamTestData("login-test-data.xlsx", "LoginTests");
     }
 
     @Test(dataProvider = "loginTestData")
@@ -54,8 +58,7 @@ public class AuthenticationTest extends TestConfig {
             "Response received with status: " + expectedStatus);
 
         if (expectedStatus == 200) {
-            response.body("results", notNullValue())
-                   .body("results.token", notNullValue());
+            response.spec(loginContract);
         }
         
         if (expectedDetails != null) {
@@ -101,8 +104,11 @@ public class AuthenticationTest extends TestConfig {
         // Step 2: Get 2FA code
         ExtentReportManager.getTest().log(Status.INFO, "Step 2: Retrieving 2FA code");
         
-        Response twoFactorResponse = given()
-            .body("{\"email\": \"" + email + "\"}")
+        TwoFactorVerify codeRequest = new TwoFactorVerify();
+        codeRequest.setEmail(email);
+
+        ApiResponse<String> twoFactorResponse = given()
+            .body(codeRequest)
             .contentType(ContentType.JSON)
         .when()
             .post("/api/auth/retrieve-two-factor-code")
@@ -110,23 +116,28 @@ public class AuthenticationTest extends TestConfig {
             .statusCode(200)
             .contentType(ContentType.JSON)
             .extract()
-            .response();
+            .as(new TypeRef<ApiResponse<String>>() {});
 
-        String pin = twoFactorResponse.jsonPath().getString("results");
+        String pin = twoFactorResponse.getResults();
         ExtentReportManager.getTest().log(Status.PASS, "Successfully retrieved 2FA code");
 
         // Step 3: Complete 2FA authentication
         ExtentReportManager.getTest().log(Status.INFO, "Step 3: Completing 2FA verification");
         
+        TwoFactorVerify verifyRequest = new TwoFactorVerify();
+        verifyRequest.setAuthCode(pin);
+        verifyRequest.setEmail(email);
+        verifyRequest.setPassword(password);
+
         given()
-            .body("{\"auth_code\": \"" + pin + "\", \"email\": \"" + email + "\", \"password\": \"" + password + "\"}")
+            .body(verifyRequest)
             .contentType(ContentType.JSON)
         .when()
             .post("/api/auth/verify-two-factor-auth")
         .then()
             .statusCode(200)
             .contentType(ContentType.JSON)
-            .body("results.token", notNullValue());
+            .spec(loginContract);
 
         ExtentReportManager.getTest().log(Status.PASS, "Two Factor Authentication completed successfully");
     }
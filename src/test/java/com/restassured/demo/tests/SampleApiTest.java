@@ -2,22 +2,30 @@ package com.restassured.demo.tests;
 
 import com.restassured.demo.config.TestConfig;
 import com.restassured.demo.models.Post;
+import com.restassured.demo.utils.JsonStream;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 public class SampleApiTest extends TestConfig {
 
     @Test(description = "Get all posts and verify response")
     public void testGetPosts() {
-        given()
+        // Streamed: only the first post is parsed, however long the list is
+        Response posts = given()
+                .spec(streamingSpec)
             .when()
                 .get("/posts")
             .then()
                 .statusCode(200)
-                .body("size()", greaterThan(0));
+                .extract()
+                .response();
+
+        assertThat(posts, JsonStream.hasElements(""));
     }
 
     @Test(description = "Get a specific post and verify its content")
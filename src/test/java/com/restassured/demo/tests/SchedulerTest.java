@@ -1,116 +1,88 @@
 package com.restassured.demo.tests;
 
 import com.restassured.demo.config.TestConfig;
-import com.restassured.demo.models.LoginRequest;
-import io.restassured.http.ContentType;
+import com.restassured.demo.filters.ResponseCacheFilter;
+import com.restassured.demo.models.EmrRoundSchedule;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.response.Response;
-import org.testng.Assert;
+import io.restassured.specification.RequestSpecification;
 import org.testng.annotations.Test;
 import org.testng.annotations.BeforeClass;
-import org.awaitility.Awaitility;
 import java.time.Duration;
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasToString;
 import com.aventstack.extentreports.Status;
 import com.restassured.demo.utils.ExtentReportManager;
+import com.restassured.demo.utils.JsonExpectations;
+import com.restassured.demo.utils.JsonStream;
+import com.restassured.demo.utils.Poller;
+import com.restassured.demo.utils.Poller.PollResult;
 import org.testng.annotations.Listeners;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.List;
 
 @Listeners(com.restassured.demo.listeners.TestListener.class)
 public class SchedulerTest extends TestConfig {
     
-    private String authToken;
-    private static final int POLLING_INTERVAL_SECONDS = 60;
+    // Poll quickly while the scheduler usually converges, then back off up to the old 60s interval
+    private static final Duration FAST_POLL_INTERVAL = Duration.ofMillis(500);
+    private static final Duration FAST_POLL_PHASE = Duration.ofSeconds(10);
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(2);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofSeconds(60);
     private static final int MAX_WAIT_TIME_SECONDS = 300;
-    private Map<String, Object> schedulePayload;
+    private volatile RequestSpecification revalidatingSpec;
     
     @BeforeClass
     public void setupSchedulerTest() {
-        // Authenticate and get token
-        LoginRequest loginRequest = new LoginRequest();
-        loginRequest.setEmail("dummy.test@gmail.com");
-        loginRequest.setPassword("dummyTestPassword123!");
-        loginRequest.setTimezone("Asia/Manila");
-        
-        // Get authentication token
-        Response authResponse = given()
-            .contentType(ContentType.JSON)
-            .body(loginRequest)
-        .when()
-            .post(AUTH_ENDPOINT)
-        .then()
-            .statusCode(200)
-            .contentType(ContentType.JSON)
-            .body("results.token", notNullValue())
-            .extract()
-            .response();
-
-        // Store the auth token
-        authToken = authResponse.jsonPath().getString("results.token");
-        Assert.assertNotNull(authToken, "Authentication token should not be null");
-        
         initializeTestData();
     }
     
     private void initializeTestData() {
-        schedulePayload = new HashMap<>();
-        schedulePayload.put("round_id", 107);
-        schedulePayload.put("client_id", 2386);
-        schedulePayload.put("clinician_id", "131");
-        schedulePayload.put("treatment_episode_id", 1466);
+        // Every poll revalidates the previous answer by ETag, so an unchanged list comes back as a bodiless 304
+        revalidatingSpec = new RequestSpecBuilder()
+            .addFilter(ResponseCacheFilter.memoizing(Duration.ZERO))
+            .build();
     }
     
     @Test(description = "Verify EMR round creation after scheduling")
     public void testScheduledRoundCreation() {
         ExtentReportManager.getTest().log(Status.INFO, "Starting EMR round scheduling test");
         
-        // Step 1: Make POST schedule API call
-        Response scheduleResponse = given()
-            .header("Authorization", "Bearer " + authToken)
-            .contentType("application/json")
-            .body(schedulePayload)
-        .when()
-            .post("/api/auth/rounds/emr-rounds")
-        .then()
-            .statusCode(201)
-            .contentType("application/json")
-            .extract()
-            .response();
+        // Step 1: Lease a round scheduled at suite start (its POST was checked for 201 then),
+        // so the scheduler's delay has overlapped with the rest of the suite
+        EmrRoundSchedule schedule = scheduledRounds.lease();
             
-        ExtentReportManager.getTest().log(Status.INFO, "EMR round scheduled successfully");
+        ExtentReportManager.getTest().log(Status.INFO, "EMR round scheduled for client " + schedule.getClientId());
         
         // Step 2: Poll for scheduled round creation
         ExtentReportManager.getTest().log(Status.INFO, "Polling for scheduled round creation");
         
-        Awaitility.await()
-            .pollInterval(Duration.ofSeconds(POLLING_INTERVAL_SECONDS))
-            .atMost(Duration.ofSeconds(MAX_WAIT_TIME_SECONDS))
-            .until(() -> isScheduledRoundCreated());
+        PollResult<Response> pollResult = Poller.poll(() -> getScheduledRound(schedule))
+            .until(this::isScheduledRoundCreated)
+            .fastPhase(FAST_POLL_INTERVAL, FAST_POLL_PHASE)
+            .backoff(INITIAL_BACKOFF, 2.0, MAX_POLL_INTERVAL)
+            .jitter(0.2)
+            .timeout(Duration.ofSeconds(MAX_WAIT_TIME_SECONDS))
+            .await();
+
+        ExtentReportManager.getTest().log(Status.INFO, "Scheduled round " + pollResult);
             
-        // Step 3: Verify scheduled round details
-        Response scheduledRoundResponse = getScheduledRound();
-        verifyScheduledRoundDetails(scheduledRoundResponse);
+        // Step 3: Verify scheduled round details on the response that satisfied the poll
+        verifyScheduledRoundDetails(pollResult.getValue(), schedule);
         
         ExtentReportManager.getTest().log(Status.PASS, "Scheduled round created and verified successfully");
     }
     
-    private boolean isScheduledRoundCreated() {
-        try {
-            Response response = getScheduledRound();
-            return response.getStatusCode() == 200 && 
-                   !response.jsonPath().getList("results.data").isEmpty();
-        } catch (Exception e) {
-            return false;
-        }
+    private boolean isScheduledRoundCreated(Response response) {
+        // Stops at the first round instead of binding the whole page
+        return response.getStatusCode() == 200 && !JsonStream.isEmpty(response.asInputStream(), "results.data");
     }
     
-    private Response getScheduledRound() {
+    private Response getScheduledRound(EmrRoundSchedule schedule) {
         return given()
-            .header("Authorization", "Bearer " + authToken)
-            .queryParam("clientId", schedulePayload.get("client_id"))
-            .queryParam("treatmentEpisodeId", schedulePayload.get("treatment_episode_id"))
+            .spec(authSpec)
+            .spec(revalidatingSpec)
+            .queryParam("clientId", schedule.getClientId())
+            .queryParam("treatmentEpisodeId", schedule.getTreatmentEpisodeId())
         .when()
             .get("/api/auth/rounds/emr-past-rounds")
         .then()
@@ -118,14 +90,14 @@ public class SchedulerTest extends TestConfig {
             .response();
     }
     
-    private void verifyScheduledRoundDetails(Response response) {
-        Assert.assertEquals(response.jsonPath().getInt("results.data[0].round_id"), 
-            schedulePayload.get("round_id"));
-        Assert.assertEquals(response.jsonPath().getInt("results.data[0].client_id"), 
-            schedulePayload.get("client_id"));
-        Assert.assertEquals(response.jsonPath().getString("results.data[0].clinician_id"), 
-            schedulePayload.get("clinician_id"));
-        Assert.assertEquals(response.jsonPath().getInt("results.data[0].treatment_episode_id"), 
-            schedulePayload.get("treatment_episode_id"));
+    private void verifyScheduledRoundDetails(Response response, EmrRoundSchedule schedule) {
+        response.then().spec(emrPastRoundsContract);
+        JsonExpectations.builder()
+            .expect("results.data[0].round_id", equalTo(schedule.getRoundId()))
+            .expect("results.data[0].client_id", equalTo(schedule.getClientId()))
+            .expect("results.data[0].clinician_id", hasToString(schedule.getClinicianId()))
+            .expect("results.data[0].treatment_episode_id", equalTo(schedule.getTreatmentEpisodeId()))
+            .build()
+            .verify(response);
     }
 } 
\ No newline at end of file
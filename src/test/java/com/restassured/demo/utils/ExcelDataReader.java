@@ -1,54 +1,135 @@
 package com.restassured.demo.utils;
 
+import com.restassured.demo.config.Shard;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntPredicate;
 
 public class ExcelDataReader {
+    // -Dexcel.testDataDir reads workbooks from elsewhere, e.g. ones generated by a benchmark
+    private static final String TEST_DATA_DIR = System.getProperty("excel.testDataDir", "src/test/resources/testdata") + "/";
+    // -Dexcel.snapshots=false parses the workbook with POI on every read
+    private static final boolean SNAPSHOTS = Boolean.parseBoolean(System.getProperty("excel.snapshots", "true"));
     
     public static Object[][] readTestData(String filePath, String sheetName) {
-        try (FileInputStream fis = new FileInputStream("src/test/resources/testdata/" + filePath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
+        if (SNAPSHOTS) {
+            List<Object[]> data = new ArrayList<>();
+            snapshot(filePath, sheetName).rows(ownedRows(filePath, sheetName)).forEachRemaining(data::add);
+            return data.toArray(new Object[0][]);
+        }
+        return WorkbookReader.read(filePath, sheetName);
+    }
+    
+    /**
+     * Streams the sheet row by row for use as a lazy TestNG DataProvider. Rows are
+     * decoded from the sheet's snapshot as they are consumed, or parsed in the
+     * background when snapshots are off, so large sheets never sit in memory as a whole.
+     * Only a sequential DataProvider reads it lazily: TestNG drains a {@code parallel}
+     * one into a list before running any of its rows.
+     */
+    public static Iterator<Object[]> streamTestData(String filePath, String sheetName) {
+        if (SNAPSHOTS) {
+            return snapshot(filePath, sheetName).rows(ownedRows(filePath, sheetName));
+        }
+        return new ExcelRowIterator(testDataFile(filePath), sheetName, ownedRows(filePath, sheetName));
+    }
+    
+    /**
+     * Compiles or maps the snapshot of every sheet in the test data directory, so
+     * data providers start on ready rows. Returns the number of sheets.
+     */
+    public static int preload() {
+        File[] workbooks = new File(TEST_DATA_DIR).listFiles((dir, name) -> name.endsWith(".xlsx") && !name.startsWith("~$"));
+        if (!SNAPSHOTS || workbooks == null) {
+            return 0;
+        }
+        int sheets = 0;
+        for (File workbook : workbooks) {
+            for (String sheetName : SheetSnapshot.sheetNames(workbook, () -> ExcelRowIterator.sheetNames(workbook))) {
+                snapshot(workbook.getName(), sheetName);
+                sheets++;
+            }
+        }
+        return sheets;
+    }
+    
+    // The first read of a workbook's sheet compiles it with the SAX parser; later reads and runs map the result
+    private static SheetSnapshot snapshot(String filePath, String sheetName) {
+        File file = testDataFile(filePath);
+        return SheetSnapshot.of(file, sheetName, () -> new ExcelRowIterator(file, sheetName, row -> true));
+    }
+    
+    private static File testDataFile(String filePath) {
+        File file = new File(TEST_DATA_DIR + filePath);
+        if (!file.isFile()) {
+            throw new RuntimeException("Failed to read Excel file: " + file.getPath() + " not found");
+        }
+        return file;
+    }
+    
+    // With -Dshard=i/N each data row runs on one shard only; rows are numbered from 1 below the header
+    private static IntPredicate ownedRows(String filePath, String sheetName) {
+        Shard shard = Shard.current();
+        return shard.isSharded() ? row -> shard.owns(filePath + "!" + sheetName + "!" + row) : row -> true;
+    }
+    
+    // Kept apart so that reading from snapshots never links a POI class
+    private static class WorkbookReader {
+        static Object[][] read(String filePath, String sheetName) {
+            try (FileInputStream fis = new FileInputStream(TEST_DATA_DIR + filePath);
+                 Workbook workbook = new XSSFWorkbook(fis)) {
             
-            Sheet sheet = workbook.getSheet(sheetName);
-            int rowCount = sheet.getLastRowNum();
-            int colCount = sheet.getRow(0).getLastCellNum();
+                Sheet sheet = workbook.getSheet(sheetName);
+                int rowCount = sheet.getLastRowNum();
+                int colCount = sheet.getRow(0).getLastCellNum();
+                IntPredicate owned = ownedRows(filePath, sheetName);
             
-            Object[][] data = new Object[rowCount][colCount];
+                List<Object[]> data = new ArrayList<>(rowCount);
             
-            // Start from row 1 to skip headers
-            for (int i = 1; i <= rowCount; i++) {
-                Row row = sheet.getRow(i);
-                for (int j = 0; j < colCount; j++) {
-                    Cell cell = row.getCell(j);
-                    data[i-1][j] = getCellValue(cell);
+                // Start from row 1 to skip headers
+                for (int i = 1; i <= rowCount; i++) {
+                    if (!owned.test(i)) {
+                        continue;
+                    }
+                    Row row = sheet.getRow(i);
+                    Object[] values = new Object[colCount];
+                    for (int j = 0; j < colCount; j++) {
+                        Cell cell = row.getCell(j);
+                        values[j] = getCellValue(cell);
+                    }
+                    data.add(values);
                 }
-            }
-            return data;
+                return data.toArray(new Object[0][]);
             
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read Excel file: " + e.getMessage());
-        }
-    }
-    
-    private static Object getCellValue(Cell cell) {
-        if (cell == null) {
-            return null;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read Excel file: " + e.getMessage());
+            }
         }
         
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue();
-            case NUMERIC:
-                return (int) cell.getNumericCellValue();
-            case BOOLEAN:
-                return cell.getBooleanCellValue();
-            case BLANK:
-                return null;
-            default:
+        private static Object getCellValue(Cell cell) {
+            if (cell == null) {
                 return null;
+            }
+        
+            switch (cell.getCellType()) {
+                case STRING:
+                    return cell.getStringCellValue();
+                case NUMERIC:
+                    return (int) cell.getNumericCellValue();
+                case BOOLEAN:
+                    return cell.getBooleanCellValue();
+                case BLANK:
+                    return null;
+                default:
+                    return null;
+            }
         }
     }
-}
\ No newline at end of file
+}
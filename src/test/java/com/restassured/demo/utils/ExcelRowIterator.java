@@ -0,0 +1,304 @@
+package com.restassured.demo.utils;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * Lazily streams the data rows of one XLSX sheet using POI's SAX event model.
+ * A background parser thread hands rows over through a small bounded queue, so
+ * memory stays flat regardless of sheet size and the first row is available as
+ * soon as it has been parsed. Safe to consume from several threads. Rows rejected
+ * by the row filter (1-based, below the header) are skipped during parsing.
+ *
+ * <p>A reader that stops early should {@link #close()} the iterator, so the parser
+ * thread stops and releases the workbook; one dropped without closing is stopped
+ * once it has been garbage collected.
+ */
+class ExcelRowIterator implements Iterator<Object[]>, AutoCloseable {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final Object[] END_OF_SHEET = new Object[0];
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Parser parser;
+    // Refers only to the parser, so an abandoned iterator can still be collected
+    private final Cleaner.Cleanable cancel;
+    private Object[] next;
+    private boolean finished;
+
+    ExcelRowIterator(File file, String sheetName, IntPredicate rowFilter) {
+        this.parser = new Parser(file, sheetName, rowFilter);
+        this.cancel = CLEANER.register(this, parser::cancel);
+        Thread thread = new Thread(parser, "excel-reader-" + sheetName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Names of the workbook's sheets, in workbook order. */
+    static List<String> sheetNames(File file) {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            List<String> names = new ArrayList<>();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    names.add(sheets.getSheetName());
+                }
+            }
+            return names;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (next == null && !finished) {
+            next = parser.take();
+            if (next == END_OF_SHEET) {
+                next = null;
+                finished = true;
+                if (parser.failure != null) {
+                    throw parser.failure;
+                }
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = next;
+        next = null;
+        return row;
+    }
+
+    /** Stops the parser thread, which then closes the workbook; rows not yet read are dropped. */
+    @Override
+    public synchronized void close() {
+        finished = true;
+        next = null;
+        cancel.clean();
+    }
+
+    /** The background side: parses the sheet and queues its rows until the end or until cancelled. */
+    private static class Parser implements Runnable {
+        private final BlockingQueue<Object[]> rows = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final File file;
+        private final String sheetName;
+        private final IntPredicate rowFilter;
+        private volatile boolean cancelled;
+        private volatile RuntimeException failure;
+
+        Parser(File file, String sheetName, IntPredicate rowFilter) {
+            this.file = file;
+            this.sheetName = sheetName;
+            this.rowFilter = rowFilter;
+        }
+
+        @Override
+        public void run() {
+            try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                while (sheets.hasNext()) {
+                    try (InputStream sheet = sheets.next()) {
+                        if (sheetName.equals(sheets.getSheetName())) {
+                            XMLReader parser = XMLHelper.newXMLReader();
+                            parser.setContentHandler(new SheetHandler(strings, this));
+                            parser.parse(new InputSource(sheet));
+                            return;
+                        }
+                    }
+                }
+                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            } catch (Exception e) {
+                if (!cancelled) {
+                    failure = e instanceof RuntimeException
+                            ? (RuntimeException) e
+                            : new RuntimeException("Failed to read Excel file: " + e.getMessage(), e);
+                }
+            } finally {
+                put(END_OF_SHEET);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        Object[] take() {
+            try {
+                return rows.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while reading Excel rows", e);
+            }
+        }
+
+        /** Queues a row; false once the iterator has been closed, as nobody will read it. */
+        boolean put(Object[] row) {
+            try {
+                // Waits in slices so a full queue whose reader has gone away does not block forever
+                while (!cancelled) {
+                    if (rows.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while queueing Excel rows", e);
+            }
+        }
+    }
+
+    /**
+     * Mirrors {@code ExcelDataReader.getCellValue}: strings stay strings, numbers
+     * become ints, booleans become Booleans, everything else is null.
+     */
+    private static class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable strings;
+        private final Parser parser;
+        private final StringBuilder text = new StringBuilder();
+        private final List<Object> cells = new ArrayList<>();
+        private int columnCount = -1;
+        private int rowNumber;
+        private int column;
+        private String cellType;
+        private boolean formula;
+        private boolean inValue;
+        private boolean hasValue;
+
+        SheetHandler(ReadOnlySharedStringsTable strings, Parser parser) {
+            this.strings = strings;
+            this.parser = parser;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    cells.clear();
+                    break;
+                case "c":
+                    column = columnIndex(attributes.getValue("r"), cells.size());
+                    cellType = attributes.getValue("t");
+                    formula = false;
+                    hasValue = false;
+                    text.setLength(0);
+                    break;
+                case "f":
+                    formula = true;
+                    break;
+                case "v":
+                case "t":
+                    inValue = true;
+                    hasValue = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "c":
+                    while (cells.size() <= column) {
+                        cells.add(null);
+                    }
+                    cells.set(column, hasValue && !formula ? decode(text.toString()) : null);
+                    break;
+                case "row":
+                    endRow();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void endRow() {
+            // First row is the header and fixes the column count
+            if (columnCount < 0) {
+                columnCount = cells.size();
+                return;
+            }
+            if (!parser.rowFilter.test(++rowNumber)) {
+                return;
+            }
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount && i < cells.size(); i++) {
+                row[i] = cells.get(i);
+            }
+            if (!parser.put(row)) {
+                // Unwinds the SAX parse; the package is closed on the way out
+                throw new CancellationException("Excel row iterator closed");
+            }
+        }
+
+        private Object decode(String raw) {
+            if (cellType == null || "n".equals(cellType)) {
+                return raw.isEmpty() ? null : (int) Double.parseDouble(raw);
+            }
+            switch (cellType) {
+                case "s":
+                    return strings.getItemAt(Integer.parseInt(raw)).getString();
+                case "inlineStr":
+                    return raw;
+                case "b":
+                    return "1".equals(raw);
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static int columnIndex(String reference, int fallback) {
+        if (reference == null) {
+            return fallback;
+        }
+        int index = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (!Character.isLetter(c)) {
+                break;
+            }
+            index = index * 26 + (Character.toUpperCase(c) - 'A' + 1);
+        }
+        return index - 1;
+    }
+}
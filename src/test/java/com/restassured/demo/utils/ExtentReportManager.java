@@ -1,21 +1,19 @@
 package com.restassured.demo.utils;
 
 import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.restassured.demo.config.Shard;
 
 public class ExtentReportManager {
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    public static final String REPORT_FILE = "test-output/extent-report.html";
+    public static final String EVENT_LOG_FILE = "test-output/extent-events.jsonl";
 
-    public static ExtentReports getInstance() {
-        if (extent == null) {
-            extent = createInstance("test-output/extent-report.html");
-        }
-        return extent;
-    }
+    private static volatile ReportEventLog eventLog;
+    private static boolean eventLogStarted;
+    private static final ThreadLocal<ReportTest> test = new ThreadLocal<>();
 
+    /** A new report writing to {@code fileName}; the events are added by {@link ReportBuilder}. */
     public static ExtentReports createInstance(String fileName) {
         ExtentSparkReporter htmlReporter = new ExtentSparkReporter(fileName);
         htmlReporter.config().setTheme(Theme.STANDARD);
@@ -23,24 +21,64 @@ public class ExtentReportManager {
         htmlReporter.config().setEncoding("utf-8");
         htmlReporter.config().setReportName("API Test Results");
 
-        extent = new ExtentReports();
-        extent.attachReporter(htmlReporter);
-        extent.setSystemInfo("Automation Tester", "Your Name");
-        extent.setSystemInfo("Organization", "Your Company");
-        extent.setSystemInfo("Environment", "QA");
+        ExtentReports reports = new ExtentReports();
+        reports.attachReporter(htmlReporter);
+        reports.setSystemInfo("Automation Tester", "Your Name");
+        reports.setSystemInfo("Organization", "Your Company");
+        reports.setSystemInfo("Environment", "QA");
         
-        return extent;
+        return reports;
+    }
+
+    // Test threads only ever append to the event log; the Extent model is built on flush
+    public static ReportEventLog getEventLog() {
+        ReportEventLog log = eventLog;
+        if (log == null) {
+            synchronized (ExtentReportManager.class) {
+                log = eventLog;
+                if (log == null) {
+                    log = new ReportEventLog(Shard.current().outputFile(EVENT_LOG_FILE), eventLogStarted);
+                    eventLogStarted = true;
+                    eventLog = log;
+                }
+            }
+        }
+        return log;
+    }
+
+    public static ReportTest createTest(String name) {
+        return getEventLog().createTest(name);
+    }
+
+    /** Closes the event log and renders the HTML report from it. */
+    public static synchronized void flush() {
+        ReportEventLog log = eventLog;
+        if (log == null) {
+            return;
+        }
+        eventLog = null;
+        log.close();
+        ReportBuilder.build(log.getFile(), createInstance(Shard.current().outputFile(REPORT_FILE).toString()));
     }
 
-    public static ExtentTest getTest() {
+    public static ReportTest getTest() {
         return test.get();
     }
 
-    public static void setTest(ExtentTest extentTest) {
-        test.set(extentTest);
+    public static void setTest(ReportTest reportTest) {
+        test.set(reportTest);
     }
 
     public static void removeTest() {
         test.remove();
     }
-}
\ No newline at end of file
+
+    /** The current thread's test, for threads logging on its behalf. */
+    public static ThreadBinding capture() {
+        ReportTest current = test.get();
+        return () -> {
+            test.set(current);
+            return test::remove;
+        };
+    }
+}
@@ -0,0 +1,256 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restassured.demo.config.JacksonConfig;
+import io.restassured.response.Response;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled set of path→matcher expectations checked against a JSON body in a
+ * single streaming pass. Paths use the GPath subset the tests rely on - dotted
+ * field names and non-negative indices, e.g. {@code results.data[0].shift_notes.id} -
+ * and values are typed like {@code jsonPath()} returns them. Every mismatch is
+ * reported together, and parsing stops as soon as all paths have been seen.
+ *
+ * <pre>
+ * .then().body(JsonExpectations.builder()
+ *         .expect("results.data[0].shift_notes.shift", equalTo("Day Shift"))
+ *         .expect("results.data[0].shift_notes.note", equalTo("notes\ntest"))
+ *         .build());
+ * </pre>
+ */
+public class JsonExpectations extends TypeSafeDiagnosingMatcher<String> {
+    private static final ObjectMapper MAPPER = JacksonConfig.mapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private final List<String> paths;
+    private final List<Matcher<?>> matchers;
+    private final Node root = new Node();
+
+    private JsonExpectations(Builder builder) {
+        this.paths = Collections.unmodifiableList(new ArrayList<>(builder.paths));
+        this.matchers = Collections.unmodifiableList(new ArrayList<>(builder.matchers));
+        for (int i = 0; i < paths.size(); i++) {
+            root.compile(paths.get(i), 0).expectations.add(i);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Every failed expectation as "path: expected ... but ...", empty when all match. */
+    public List<String> mismatches(byte[] json) {
+        Object[] actual = new Object[paths.size()];
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            new Pass(actual).run(parser);
+        } catch (IOException e) {
+            return Collections.singletonList("body is not valid JSON: " + e.getMessage());
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < actual.length; i++) {
+            Matcher<?> matcher = matchers.get(i);
+            if (!matcher.matches(actual[i])) {
+                Description description = new StringDescription()
+                        .appendText(paths.get(i)).appendText(": expected ").appendDescriptionOf(matcher)
+                        .appendText(" but ");
+                matcher.describeMismatch(actual[i], description);
+                mismatches.add(description.toString());
+            }
+        }
+        return mismatches;
+    }
+
+    /** Throws an AssertionError listing every mismatch in the response body. */
+    public void verify(Response response) {
+        List<String> mismatches = mismatches(response.asByteArray());
+        if (!mismatches.isEmpty()) {
+            throw new AssertionError(mismatches.size() + " JSON expectation(s) failed:\n  "
+                    + String.join("\n  ", mismatches));
+        }
+    }
+
+    @Override
+    protected boolean matchesSafely(String body, Description mismatchDescription) {
+        List<String> mismatches = mismatches(body.getBytes(StandardCharsets.UTF_8));
+        if (!mismatches.isEmpty()) {
+            mismatchDescription.appendText(String.join("\n  ", mismatches));
+        }
+        return mismatches.isEmpty();
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("JSON body with");
+        for (int i = 0; i < paths.size(); i++) {
+            description.appendText("\n  ").appendText(paths.get(i)).appendText(" ")
+                    .appendDescriptionOf(matchers.get(i));
+        }
+    }
+
+    public static class Builder {
+        private final List<String> paths = new ArrayList<>();
+        private final List<Matcher<?>> matchers = new ArrayList<>();
+
+        public Builder expect(String path, Matcher<?> matcher) {
+            paths.add(path);
+            matchers.add(matcher);
+            return this;
+        }
+
+        public JsonExpectations build() {
+            return new JsonExpectations(this);
+        }
+    }
+
+    /** One step of the compiled path trie; expectations hold indices into paths/matchers. */
+    private static class Node {
+        final Map<String, Node> fields = new HashMap<>();
+        final Map<Integer, Node> indices = new HashMap<>();
+        final List<Integer> expectations = new ArrayList<>();
+
+        Node compile(String path, int from) {
+            if (from >= path.length()) {
+                return this;
+            }
+            if (path.charAt(from) == '[') {
+                int close = path.indexOf(']', from);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed index in path: " + path);
+                }
+                int index;
+                try {
+                    index = Integer.parseInt(path.substring(from + 1, close));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Unsupported index in path: " + path);
+                }
+                if (index < 0) {
+                    throw new IllegalArgumentException("Negative indices are not supported: " + path);
+                }
+                return indices.computeIfAbsent(index, i -> new Node()).compile(path, skipDot(path, close + 1));
+            }
+            int end = from;
+            while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                end++;
+            }
+            if (end == from) {
+                throw new IllegalArgumentException("Empty segment in path: " + path);
+            }
+            return fields.computeIfAbsent(path.substring(from, end), f -> new Node()).compile(path, skipDot(path, end));
+        }
+
+        boolean hasChildren() {
+            return !fields.isEmpty() || !indices.isEmpty();
+        }
+
+        private static int skipDot(String path, int at) {
+            return at < path.length() && path.charAt(at) == '.' ? at + 1 : at;
+        }
+    }
+
+    /** State of one check; unresolved paths keep a null value, like a missing GPath. */
+    private class Pass {
+        private final Object[] actual;
+        private int remaining;
+
+        Pass(Object[] actual) {
+            this.actual = actual;
+            this.remaining = actual.length;
+        }
+
+        void run(JsonParser parser) throws IOException {
+            if (parser.nextToken() != null) {
+                visit(parser, root);
+            }
+        }
+
+        /** Called with the parser on the first token of the value belonging to {@code node}. */
+        private void visit(JsonParser parser, Node node) throws IOException {
+            if (!node.expectations.isEmpty()) {
+                resolve(node, parser.readValueAsTree());
+            } else if (node.hasChildren() && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Node child = node.fields.get(parser.getCurrentName());
+                    parser.nextToken();
+                    if (child != null) {
+                        visit(parser, child);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if (node.hasChildren() && parser.currentToken() == JsonToken.START_ARRAY) {
+                int index = 0;
+                while (remaining > 0 && parser.nextToken() != JsonToken.END_ARRAY) {
+                    Node child = node.indices.get(index++);
+                    if (child != null) {
+                        visit(parser, child);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        private void resolve(Node node, JsonNode value) {
+            if (value == null || value.isMissingNode()) {
+                return;
+            }
+            if (!node.expectations.isEmpty()) {
+                Object converted = toJava(value);
+                for (int expectation : node.expectations) {
+                    actual[expectation] = converted;
+                    remaining--;
+                }
+            }
+            if (value.isObject()) {
+                value.fields().forEachRemaining(field -> {
+                    Node child = node.fields.get(field.getKey());
+                    if (child != null) {
+                        resolve(child, field.getValue());
+                    }
+                });
+            } else if (value.isArray()) {
+                node.indices.forEach((index, child) -> resolve(child, value.get(index)));
+            }
+        }
+    }
+
+    static Object toJava(JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (value.isTextual()) {
+            return value.textValue();
+        }
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        }
+        if (value.isIntegralNumber()) {
+            return value.canConvertToInt() ? (Object) value.intValue() : (Object) value.longValue();
+        }
+        if (value.isNumber()) {
+            // jsonPath() returns floats unless the value needs double range
+            double number = value.doubleValue();
+            return Math.abs(number) <= Float.MAX_VALUE ? (Object) (float) number : (Object) number;
+        }
+        return MAPPER.convertValue(value, Object.class);
+    }
+}
@@ -0,0 +1,521 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restassured.demo.config.JacksonConfig;
+import io.restassured.response.Response;
+import org.hamcrest.Description;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON Schema compiled once into a tree of checks and applied to a response body
+ * in a single streaming pass, without building a document tree. Covers the
+ * draft-07 subset our contracts use - type, enum, const, properties, required,
+ * additionalProperties, items, min/maxItems, min/maxLength, pattern, minimum,
+ * maximum and $ref into definitions, also of other schema files. Any other
+ * assertion keyword is rejected when compiling rather than silently ignored;
+ * format is treated as an annotation, as draft-07 allows.
+ *
+ * <p>Every validation is timed, so {@link SchemaRegistry} can report what full
+ * contract checks cost per response.
+ */
+public class JsonSchema extends TypeSafeDiagnosingMatcher<String> {
+    private static final JsonFactory FACTORY = JacksonConfig.mapper().getFactory();
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final Set<String> ANNOTATIONS = Set.of("$schema", "$id", "$comment", "title", "description",
+            "definitions", "default", "examples", "format", "readOnly", "writeOnly");
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 1 << 1;
+    private static final int STRING = 1 << 2;
+    private static final int INTEGER = 1 << 3;
+    private static final int NUMBER = 1 << 4;
+    private static final int BOOLEAN = 1 << 5;
+    private static final int NULL = 1 << 6;
+    private static final int ANY = (1 << 7) - 1;
+    private static final String[] TYPE_NAMES = {"object", "array", "string", "integer", "number", "boolean", "null"};
+    private static final Map<String, Integer> TYPES = Map.of("object", OBJECT, "array", ARRAY, "string", STRING,
+            "integer", INTEGER, "number", NUMBER | INTEGER, "boolean", BOOLEAN, "null", NULL);
+
+    private final String name;
+    private final Node root;
+    private final long compileNanos;
+    private final LatencyHistogram micros = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private JsonSchema(String name, Node root, long compileNanos) {
+        this.name = name;
+        this.root = root;
+        this.compileNanos = compileNanos;
+    }
+
+    /**
+     * Compiles the schema file {@code name}; {@code documents} loads it and any file
+     * its $refs point to, e.g. {@code "shift-note.schema.json#/definitions/shiftNote"}.
+     */
+    public static JsonSchema compile(String name, Function<String, JsonNode> documents) {
+        long start = System.nanoTime();
+        Node root = new Compiler(documents).compile(name, "");
+        return new JsonSchema(name, root, System.nanoTime() - start);
+    }
+
+    /** Every violation as "path: problem" (the first 20), empty when the body conforms. */
+    public List<String> validate(String json) {
+        long start = System.nanoTime();
+        List<String> errors = new ArrayList<>();
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            Pass pass = new Pass(parser, errors);
+            if (parser.nextToken() == null) {
+                errors.add("$: body is empty");
+            } else {
+                pass.visit(root);
+            }
+            if (pass.errorCount > errors.size()) {
+                errors.add("... and " + (pass.errorCount - errors.size()) + " more");
+            }
+        } catch (IOException e) {
+            errors.add("$: body is not valid JSON: " + e.getMessage());
+        }
+        micros.record((System.nanoTime() - start) / 1000);
+        bytes.add(json.length());
+        if (!errors.isEmpty()) {
+            failures.increment();
+        }
+        return errors;
+    }
+
+    /** Throws an AssertionError listing the violations in the response body. */
+    public void verify(Response response) {
+        List<String> errors = validate(response.asString());
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Response does not match " + name + ":\n  " + String.join("\n  ", errors));
+        }
+    }
+
+    @Override
+    protected boolean matchesSafely(String body, Description mismatchDescription) {
+        List<String> errors = validate(body);
+        if (!errors.isEmpty()) {
+            mismatchDescription.appendText(String.join("\n  ", errors));
+        }
+        return errors.isEmpty();
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("JSON body matching ").appendText(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCompileNanos() {
+        return compileNanos;
+    }
+
+    /** Validation times in microseconds. */
+    public LatencyHistogram getMicros() {
+        return micros;
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /** Characters of JSON validated. */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /** One compiled (sub)schema; a node without constraints accepts anything without looking at it. */
+    private static class Node {
+        int types = ANY;
+        boolean rejectAll;
+        Set<Object> allowed;
+        Map<String, Node> properties = Collections.emptyMap();
+        Map<String, Integer> required = Collections.emptyMap();
+        Node additionalProperties;
+        Node items;
+        int minItems;
+        int maxItems = Integer.MAX_VALUE;
+        int minLength;
+        int maxLength = Integer.MAX_VALUE;
+        Pattern pattern;
+        BigDecimal minimum;
+        boolean exclusiveMinimum;
+        BigDecimal maximum;
+        boolean exclusiveMaximum;
+        boolean trivial = true;
+    }
+
+    /** Turns schema documents into nodes; each $ref target is compiled once and shared. */
+    private static class Compiler {
+        private final Function<String, JsonNode> documents;
+        private final Map<String, Node> compiled = new HashMap<>();
+
+        Compiler(Function<String, JsonNode> documents) {
+            this.documents = documents;
+        }
+
+        Node compile(String file, String pointer) {
+            String key = file + "#" + pointer;
+            Node node = compiled.get(key);
+            if (node == null) {
+                JsonNode schema = documents.apply(file).at(pointer);
+                if (schema.isMissingNode()) {
+                    throw new IllegalArgumentException("Unresolvable schema reference " + key);
+                }
+                if (schema.has("$ref")) {
+                    node = reference(schema.get("$ref").asText(), file);
+                } else {
+                    node = new Node();
+                    // Registered before it is filled in, so recursive references terminate
+                    compiled.put(key, node);
+                    fill(node, schema, file, key);
+                }
+                compiled.put(key, node);
+            }
+            return node;
+        }
+
+        private Node compile(JsonNode schema, String file, String location) {
+            if (schema.has("$ref")) {
+                return reference(schema.get("$ref").asText(), file);
+            }
+            Node node = new Node();
+            fill(node, schema, file, location);
+            return node;
+        }
+
+        // draft-07 ignores keywords next to a $ref, so the reference stands for the whole schema
+        private Node reference(String ref, String file) {
+            int hash = ref.indexOf('#');
+            String target = hash == 0 ? file : hash < 0 ? ref : ref.substring(0, hash);
+            return compile(target, hash < 0 ? "" : ref.substring(hash + 1));
+        }
+
+        private void fill(Node node, JsonNode schema, String file, String location) {
+            if (schema.isBoolean()) {
+                node.rejectAll = !schema.booleanValue();
+                node.trivial = schema.booleanValue();
+                return;
+            }
+            if (!schema.isObject()) {
+                throw new IllegalArgumentException("Schema at " + location + " must be an object or boolean");
+            }
+            Iterator<Map.Entry<String, JsonNode>> keywords = schema.fields();
+            while (keywords.hasNext()) {
+                Map.Entry<String, JsonNode> keyword = keywords.next();
+                JsonNode value = keyword.getValue();
+                String at = location + "/" + keyword.getKey();
+                switch (keyword.getKey()) {
+                    case "type":
+                        node.types = 0;
+                        if (value.isArray()) {
+                            value.forEach(type -> node.types |= type(type.asText(), at));
+                        } else {
+                            node.types = type(value.asText(), at);
+                        }
+                        break;
+                    case "enum":
+                        node.allowed = new HashSet<>();
+                        value.forEach(allowed -> node.allowed.add(scalar(allowed, at)));
+                        break;
+                    case "const":
+                        node.allowed = Set.of(scalar(value, at));
+                        break;
+                    case "properties":
+                        node.properties = new HashMap<>();
+                        value.fields().forEachRemaining(property -> node.properties.put(property.getKey(),
+                                compile(property.getValue(), file, at + "/" + property.getKey())));
+                        break;
+                    case "required":
+                        node.required = new LinkedHashMap<>();
+                        value.forEach(property -> node.required.put(property.asText(), node.required.size()));
+                        break;
+                    case "additionalProperties":
+                        node.additionalProperties = compile(value, file, at);
+                        break;
+                    case "items":
+                        if (value.isArray()) {
+                            throw new IllegalArgumentException("Tuple items are not supported at " + at);
+                        }
+                        node.items = compile(value, file, at);
+                        break;
+                    case "minItems":
+                        node.minItems = value.asInt();
+                        break;
+                    case "maxItems":
+                        node.maxItems = value.asInt();
+                        break;
+                    case "minLength":
+                        node.minLength = value.asInt();
+                        break;
+                    case "maxLength":
+                        node.maxLength = value.asInt();
+                        break;
+                    case "pattern":
+                        node.pattern = Pattern.compile(value.asText());
+                        break;
+                    case "minimum":
+                        node.minimum = value.decimalValue();
+                        break;
+                    case "exclusiveMinimum":
+                        node.minimum = value.decimalValue();
+                        node.exclusiveMinimum = true;
+                        break;
+                    case "maximum":
+                        node.maximum = value.decimalValue();
+                        break;
+                    case "exclusiveMaximum":
+                        node.maximum = value.decimalValue();
+                        node.exclusiveMaximum = true;
+                        break;
+                    default:
+                        if (!ANNOTATIONS.contains(keyword.getKey())) {
+                            throw new IllegalArgumentException("Unsupported schema keyword at " + at);
+                        }
+                        continue;
+                }
+                node.trivial = false;
+            }
+        }
+
+        private static int type(String type, String at) {
+            Integer bits = TYPES.get(type);
+            if (bits == null) {
+                throw new IllegalArgumentException("Unknown type '" + type + "' at " + at);
+            }
+            return bits;
+        }
+
+        private static Object scalar(JsonNode value, String at) {
+            if (value.isContainerNode()) {
+                throw new IllegalArgumentException("Only scalar enum/const values are supported at " + at);
+            }
+            return value.isNumber() ? normalize(value.decimalValue()) : value.isNull() ? Null.VALUE
+                    : value.isBoolean() ? (Object) value.booleanValue() : value.asText();
+        }
+    }
+
+    /** Stand-in for JSON null in enum sets. */
+    private enum Null { VALUE }
+
+    private static BigDecimal normalize(BigDecimal number) {
+        return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+    }
+
+    /** One validation; the path is only rendered when something is wrong. */
+    private static class Pass {
+        private final JsonParser parser;
+        private final List<String> errors;
+        private final List<Object> path = new ArrayList<>();
+        private int errorCount;
+
+        Pass(JsonParser parser, List<String> errors) {
+            this.parser = parser;
+            this.errors = errors;
+        }
+
+        /** Called with the parser on the first token of the value; leaves it on the value's last token. */
+        void visit(Node node) throws IOException {
+            if (node.trivial) {
+                parser.skipChildren();
+                return;
+            }
+            if (node.rejectAll) {
+                error("is not allowed here");
+                parser.skipChildren();
+                return;
+            }
+            JsonToken token = parser.currentToken();
+            int type = typeOf(token);
+            if ((node.types & type) == 0) {
+                error("expected " + describe(node.types) + " but was " + describe(type));
+                parser.skipChildren();
+                return;
+            }
+            switch (token) {
+                case START_OBJECT:
+                    visitObject(node);
+                    break;
+                case START_ARRAY:
+                    visitArray(node);
+                    break;
+                case VALUE_STRING:
+                    checkString(node, parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    checkNumber(node, parser.getDecimalValue());
+                    break;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    checkAllowed(node, token == JsonToken.VALUE_TRUE);
+                    break;
+                default:
+                    checkAllowed(node, Null.VALUE);
+            }
+        }
+
+        private void visitObject(Node node) throws IOException {
+            if (node.allowed != null) {
+                error("expected one of " + node.allowed + " but was an object");
+            }
+            boolean[] present = node.required.isEmpty() ? null : new boolean[node.required.size()];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                if (present != null) {
+                    Integer index = node.required.get(field);
+                    if (index != null) {
+                        present[index] = true;
+                    }
+                }
+                Node child = node.properties.get(field);
+                if (child == null) {
+                    child = node.additionalProperties;
+                }
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    path.add(field);
+                    visit(child);
+                    path.remove(path.size() - 1);
+                }
+            }
+            if (present != null) {
+                for (Map.Entry<String, Integer> required : node.required.entrySet()) {
+                    if (!present[required.getValue()]) {
+                        error("is missing required property '" + required.getKey() + "'");
+                    }
+                }
+            }
+        }
+
+        private void visitArray(Node node) throws IOException {
+            if (node.allowed != null) {
+                error("expected one of " + node.allowed + " but was an array");
+            }
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (node.items == null) {
+                    parser.skipChildren();
+                } else {
+                    path.add(count);
+                    visit(node.items);
+                    path.remove(path.size() - 1);
+                }
+                count++;
+            }
+            if (count < node.minItems || count > node.maxItems) {
+                error("has " + count + " item(s), expected " + range(node.minItems, node.maxItems));
+            }
+        }
+
+        private void checkString(Node node, String text) {
+            int length = text.codePointCount(0, text.length());
+            if (length < node.minLength || length > node.maxLength) {
+                error("has length " + length + ", expected " + range(node.minLength, node.maxLength));
+            }
+            if (node.pattern != null && !node.pattern.matcher(text).find()) {
+                error("does not match /" + node.pattern + "/");
+            }
+            checkAllowed(node, text);
+        }
+
+        private void checkNumber(Node node, BigDecimal number) {
+            if (node.minimum != null) {
+                int comparison = number.compareTo(node.minimum);
+                if (comparison < 0 || comparison == 0 && node.exclusiveMinimum) {
+                    error(number + " is below the minimum " + node.minimum);
+                }
+            }
+            if (node.maximum != null) {
+                int comparison = number.compareTo(node.maximum);
+                if (comparison > 0 || comparison == 0 && node.exclusiveMaximum) {
+                    error(number + " is above the maximum " + node.maximum);
+                }
+            }
+            if (node.allowed != null) {
+                checkAllowed(node, normalize(number));
+            }
+        }
+
+        private void checkAllowed(Node node, Object value) {
+            if (node.allowed != null && !node.allowed.contains(value)) {
+                error("expected one of " + node.allowed + " but was " + (value == Null.VALUE ? "null" : value));
+            }
+        }
+
+        private int typeOf(JsonToken token) throws IOException {
+            switch (token) {
+                case START_OBJECT:
+                    return OBJECT;
+                case START_ARRAY:
+                    return ARRAY;
+                case VALUE_STRING:
+                    return STRING;
+                case VALUE_NUMBER_INT:
+                    return INTEGER;
+                case VALUE_NUMBER_FLOAT:
+                    // draft-07: a number without a fractional part, such as 1.0, is an integer
+                    return parser.getDecimalValue().stripTrailingZeros().scale() <= 0 ? INTEGER : NUMBER;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    return BOOLEAN;
+                default:
+                    return NULL;
+            }
+        }
+
+        private void error(String problem) {
+            if (errorCount++ >= MAX_REPORTED_ERRORS) {
+                return;
+            }
+            StringBuilder location = new StringBuilder("$");
+            for (Object segment : path) {
+                if (segment instanceof Integer) {
+                    location.append('[').append(segment).append(']');
+                } else {
+                    location.append('.').append(segment);
+                }
+            }
+            errors.add(location.append(": ").append(problem).toString());
+        }
+
+        private static String describe(int types) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < TYPE_NAMES.length; i++) {
+                // "number" covers integers too
+                if ((types & 1 << i) != 0 && !(1 << i == INTEGER && (types & NUMBER) != 0)) {
+                    names.add(TYPE_NAMES[i]);
+                }
+            }
+            return String.join(" or ", names);
+        }
+
+        private static String range(int min, int max) {
+            return max == Integer.MAX_VALUE ? "at least " + min : min == 0 ? "at most " + max : min + ".." + max;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restassured.demo.config.JacksonConfig;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JsonSchemaTest {
+
+    @Test(description = "type, required and additionalProperties report each violation by path")
+    public void testObjectKeywords() {
+        JsonSchema schema = compile("{\"type\": \"object\", \"required\": [\"id\", \"name\"],"
+                + " \"properties\": {\"id\": {\"type\": \"integer\"}, \"name\": {\"type\": \"string\"}},"
+                + " \"additionalProperties\": false}");
+
+        assertThat(schema.validate("{\"id\": 1, \"name\": \"a\"}"), is(empty()));
+        assertThat(schema.validate("{\"id\": \"1\", \"extra\": true}"), containsInAnyOrder(
+                "$.id: expected integer but was string",
+                "$.extra: is not allowed here",
+                "$: is missing required property 'name'"));
+        assertThat(schema.validate("[]"), contains("$: expected object but was array"));
+    }
+
+    @Test(description = "An integral float is an integer, and number accepts integers")
+    public void testNumericTypes() {
+        JsonSchema integer = compile("{\"type\": \"integer\"}");
+        JsonSchema number = compile("{\"type\": \"number\"}");
+
+        assertThat(integer.validate("1.0"), is(empty()));
+        assertThat(integer.validate("1.5"), contains("$: expected integer but was number"));
+        assertThat(number.validate("3"), is(empty()));
+        assertThat(compile("{\"type\": [\"string\", \"null\"]}").validate("null"), is(empty()));
+    }
+
+    @Test(description = "enum and const compare numbers by value and match null")
+    public void testEnumAndConst() {
+        JsonSchema status = compile("{\"enum\": [\"open\", 2, null]}");
+
+        assertThat(status.validate("\"open\""), is(empty()));
+        assertThat(status.validate("2.00"), is(empty()));
+        assertThat(status.validate("null"), is(empty()));
+        assertThat(status.validate("\"closed\"").get(0), startsWith("$: expected one of"));
+        assertThat(compile("{\"const\": true}").validate("false").get(0), endsWith("but was false"));
+    }
+
+    @Test(description = "minimum/maximum are inclusive, their exclusive forms are not")
+    public void testNumericBounds() {
+        JsonSchema inclusive = compile("{\"minimum\": 0, \"maximum\": 10}");
+        JsonSchema exclusive = compile("{\"exclusiveMinimum\": 0, \"exclusiveMaximum\": 10}");
+
+        assertThat(inclusive.validate("0"), is(empty()));
+        assertThat(inclusive.validate("10"), is(empty()));
+        assertThat(inclusive.validate("10.5"), contains("$: 10.5 is above the maximum 10"));
+        assertThat(exclusive.validate("0"), contains("$: 0 is below the minimum 0"));
+        assertThat(exclusive.validate("10"), contains("$: 10 is above the maximum 10"));
+        assertThat(exclusive.validate("5"), is(empty()));
+    }
+
+    @Test(description = "String lengths count code points, and pattern is unanchored")
+    public void testStringKeywords() {
+        JsonSchema schema = compile("{\"type\": \"string\", \"minLength\": 2, \"maxLength\": 3, \"pattern\": \"[0-9]\"}");
+
+        assertThat(schema.validate("\"a1\""), is(empty()));
+        // One emoji is two UTF-16 chars but a single code point
+        assertThat(schema.validate("\"😀1\""), is(empty()));
+        assertThat(schema.validate("\"a\""), contains("$: has length 1, expected 2..3", "$: does not match /[0-9]/"));
+        assertThat(schema.validate("\"abcd\""), hasItem("$: has length 4, expected 2..3"));
+    }
+
+    @Test(description = "items applies to every element and min/maxItems count them")
+    public void testArrayKeywords() {
+        JsonSchema schema = compile("{\"type\": \"array\", \"items\": {\"type\": \"integer\"}, \"minItems\": 1, \"maxItems\": 2}");
+
+        assertThat(schema.validate("[1, 2]"), is(empty()));
+        assertThat(schema.validate("[]"), contains("$: has 0 item(s), expected 1..2"));
+        assertThat(schema.validate("[1, \"x\", 3]"), contains(
+                "$[1]: expected integer but was string",
+                "$: has 3 item(s), expected 1..2"));
+    }
+
+    @Test(description = "$ref resolves into local definitions, other files and recursively")
+    public void testReferences() {
+        Map<String, String> files = Map.of(
+                "node.schema.json", "{\"$ref\": \"#/definitions/node\", \"definitions\": {\"node\": {"
+                        + "\"type\": \"object\", \"required\": [\"id\"], \"properties\": {"
+                        + "\"id\": {\"$ref\": \"ids.schema.json#/definitions/id\"},"
+                        + "\"children\": {\"type\": \"array\", \"items\": {\"$ref\": \"#/definitions/node\"}}}}}}",
+                "ids.schema.json", "{\"definitions\": {\"id\": {\"type\": \"integer\", \"minimum\": 1}}}");
+        JsonSchema schema = JsonSchema.compile("node.schema.json", file -> parse(files.get(file)));
+
+        assertThat(schema.validate("{\"id\": 1, \"children\": [{\"id\": 2, \"children\": []}]}"), is(empty()));
+        assertThat(schema.validate("{\"id\": 1, \"children\": [{\"id\": 0}, {}]}"), contains(
+                "$.children[0].id: 0 is below the minimum 1",
+                "$.children[1]: is missing required property 'id'"));
+    }
+
+    @Test(description = "Unsupported keywords, unknown types and dangling references fail at compile time")
+    public void testCompileErrors() {
+        assertCompileError("{\"oneOf\": []}", "Unsupported schema keyword at test.schema.json#/oneOf");
+        assertCompileError("{\"type\": \"date\"}", "Unknown type 'date' at test.schema.json#/type");
+        assertCompileError("{\"items\": [{}]}", "Tuple items are not supported at test.schema.json#/items");
+        assertCompileError("{\"$ref\": \"#/definitions/missing\"}", "Unresolvable schema reference");
+        // Annotations, format included, are accepted and ignored
+        assertThat(compile("{\"title\": \"t\", \"format\": \"date-time\"}").validate("\"not a date\""), is(empty()));
+    }
+
+    @Test(description = "Empty and malformed bodies fail, and only the first 20 errors are listed")
+    public void testBodyErrors() {
+        JsonSchema schema = compile("{\"items\": {\"type\": \"string\"}}");
+
+        assertThat(schema.validate(""), contains("$: body is empty"));
+        assertThat(schema.validate("[\"a\",").get(0), startsWith("$: body is not valid JSON"));
+
+        StringBuilder numbers = new StringBuilder("[0");
+        for (int i = 1; i < 25; i++) {
+            numbers.append(',').append(i);
+        }
+        List<String> errors = schema.validate(numbers.append(']').toString());
+        assertThat(errors, hasSize(21));
+        assertThat(errors.get(20), equalTo("... and 5 more"));
+        assertThat(schema.getFailures(), equalTo(3L));
+    }
+
+    private static void assertCompileError(String schema, String message) {
+        try {
+            compile(schema);
+            throw new AssertionError("Expected " + schema + " to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString(message));
+        }
+    }
+
+    private static JsonSchema compile(String schema) {
+        return JsonSchema.compile("test.schema.json", file -> parse(schema));
+    }
+
+    private static JsonNode parse(String json) {
+        try {
+            return JacksonConfig.mapper().readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
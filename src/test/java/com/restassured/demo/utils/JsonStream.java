@@ -0,0 +1,285 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restassured.demo.config.JacksonConfig;
+import io.restassured.response.Response;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Checks over a JSON array in a response body, read incrementally from the body's
+ * InputStream with a token parser. Only the element being looked at is held in
+ * memory, so large list responses cost the same as small ones, and checks stop
+ * reading as soon as their answer is known. Paths use the same subset as
+ * {@link JsonExpectations} - e.g. {@code results.data} - with {@code ""} for a
+ * top-level array; a missing or null array has no elements.
+ *
+ * <p>Pair with {@code TestConfig.streamingSpec} so the body is not buffered before
+ * it gets here. A streamed body can be read once; every method closes it.
+ *
+ * <pre>
+ * Response posts = given().spec(streamingSpec).get("/posts").then().statusCode(200).extract().response();
+ * assertThat(posts, JsonStream.hasElements(""));
+ * </pre>
+ */
+public final class JsonStream {
+    private static final ObjectMapper MAPPER = JacksonConfig.mapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private JsonStream() {
+    }
+
+    /** Number of elements in the array; reads the whole array without keeping any of it. */
+    public static long count(InputStream body, String arrayPath) {
+        return scan(body, arrayPath, null, Long.MAX_VALUE).count;
+    }
+
+    /** Whether the array has no elements; stops at the first one. */
+    public static boolean isEmpty(InputStream body, String arrayPath) {
+        return scan(body, arrayPath, null, 1).count == 0;
+    }
+
+    /** Whether any element satisfies the predicate; stops at the first that does. */
+    public static boolean anyMatch(InputStream body, String arrayPath, Predicate<JsonNode> predicate) {
+        return findFirst(body, arrayPath, predicate).isPresent();
+    }
+
+    /** Whether every element satisfies the predicate; stops at the first that does not. */
+    public static boolean allMatch(InputStream body, String arrayPath, Predicate<JsonNode> predicate) {
+        return findFirst(body, arrayPath, predicate.negate()).isEmpty();
+    }
+
+    /** The first element satisfying the predicate. */
+    public static Optional<JsonNode> findFirst(InputStream body, String arrayPath, Predicate<JsonNode> predicate) {
+        return Optional.ofNullable(scan(body, arrayPath, predicate, Long.MAX_VALUE).match);
+    }
+
+    /** The first element whose {@code field} equals {@code value}, bound to {@code type}. */
+    public static <T> Optional<T> findFirst(InputStream body, String arrayPath, String field, Object value,
+                                            Class<T> type) {
+        return findFirst(body, arrayPath, element -> element.has(field)
+                && Objects.equals(JsonExpectations.toJava(element.get(field)), value))
+                .map(element -> MAPPER.convertValue(element, type));
+    }
+
+    /**
+     * Fetches pages 1, 2, ... and hands each element of their arrays to {@code visitor},
+     * one element in memory at a time. Stops after the first empty page, after
+     * {@code maxPages}, or as soon as the visitor returns false. Returns the number of
+     * elements visited.
+     */
+    public static long walkPages(IntFunction<Response> page, String arrayPath, int maxPages,
+                                 Predicate<JsonNode> visitor) {
+        long visited = 0;
+        for (int number = 1; number <= maxPages; number++) {
+            boolean[] stopped = new boolean[1];
+            Scan scan = scan(page.apply(number).asInputStream(), arrayPath, element -> {
+                stopped[0] = !visitor.test(element);
+                return stopped[0];
+            }, Long.MAX_VALUE);
+            visited += scan.count;
+            if (stopped[0] || scan.count == 0) {
+                break;
+            }
+        }
+        return visited;
+    }
+
+    /** Matches a response whose array has a number of elements matching {@code count}. */
+    public static Matcher<Response> hasElementCount(String arrayPath, Matcher<? super Long> count) {
+        return new ResponseMatcher(arrayPath, "a number of elements " + StringDescription.toString(count)) {
+            @Override
+            String check(InputStream body) {
+                long actual = count(body, arrayPath);
+                return count.matches(actual) ? null : actual + " element(s)";
+            }
+        };
+    }
+
+    /** Matches a response whose array has at least one element. */
+    public static Matcher<Response> hasElements(String arrayPath) {
+        return new ResponseMatcher(arrayPath, "at least one element") {
+            @Override
+            String check(InputStream body) {
+                return isEmpty(body, arrayPath) ? "no elements" : null;
+            }
+        };
+    }
+
+    /** Matches a response with an element whose {@code field} matches {@code value}. */
+    public static Matcher<Response> hasAnyElement(String arrayPath, String field, Matcher<?> value) {
+        return new ResponseMatcher(arrayPath, "an element with " + field + " " + StringDescription.toString(value)) {
+            @Override
+            String check(InputStream body) {
+                return anyMatch(body, arrayPath, element -> value.matches(fieldOf(element, field)))
+                        ? null : "no such element";
+            }
+        };
+    }
+
+    /** Matches a response in which every element's {@code field} matches {@code value}. */
+    public static Matcher<Response> everyElement(String arrayPath, String field, Matcher<?> value) {
+        return new ResponseMatcher(arrayPath, "every element with " + field + " " + StringDescription.toString(value)) {
+            @Override
+            String check(InputStream body) {
+                return findFirst(body, arrayPath, element -> !value.matches(fieldOf(element, field)))
+                        .map(element -> "element " + element + " does not")
+                        .orElse(null);
+            }
+        };
+    }
+
+    private static Object fieldOf(JsonNode element, String field) {
+        JsonNode value = element.get(field);
+        return value == null ? null : JsonExpectations.toJava(value);
+    }
+
+    /**
+     * Walks the array at {@code arrayPath}: elements are bound to a tree only when
+     * {@code predicate} needs them, and the scan ends at the first element the
+     * predicate accepts or after {@code limit} elements.
+     */
+    private static Scan scan(InputStream body, String arrayPath, Predicate<JsonNode> predicate, long limit) {
+        Scan scan = new Scan();
+        try (InputStream in = body; JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() == null || !seek(parser, segments(arrayPath), 0)
+                    || parser.currentToken() != JsonToken.START_ARRAY) {
+                return scan;
+            }
+            while (scan.count < limit && parser.nextToken() != JsonToken.END_ARRAY) {
+                scan.count++;
+                if (predicate == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonNode element = parser.readValueAsTree();
+                if (predicate.test(element)) {
+                    scan.match = element;
+                    return scan;
+                }
+            }
+            return scan;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read JSON array " + describe(arrayPath), e);
+        }
+    }
+
+    /** Moves the parser from the current value to the value at {@code path}; false if there is none. */
+    private static boolean seek(JsonParser parser, List<Object> path, int from) throws IOException {
+        if (from == path.size()) {
+            return true;
+        }
+        Object segment = path.get(from);
+        if (segment instanceof String && parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean found = segment.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (found) {
+                    return seek(parser, path, from + 1);
+                }
+                parser.skipChildren();
+            }
+        } else if (segment instanceof Integer && parser.currentToken() == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (index++ == (Integer) segment) {
+                    return seek(parser, path, from + 1);
+                }
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    private static List<Object> segments(String path) {
+        List<Object> segments = new ArrayList<>();
+        int at = 0;
+        while (at < path.length()) {
+            if (path.charAt(at) == '[') {
+                int close = path.indexOf(']', at);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed index in path: " + path);
+                }
+                segments.add(Integer.parseInt(path.substring(at + 1, close)));
+                at = close + 1;
+            } else {
+                int end = at;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == at) {
+                    throw new IllegalArgumentException("Empty segment in path: " + path);
+                }
+                segments.add(path.substring(at, end));
+                at = end;
+            }
+            if (at < path.length() && path.charAt(at) == '.') {
+                at++;
+            }
+        }
+        return segments;
+    }
+
+    private static String describe(String arrayPath) {
+        return arrayPath.isEmpty() ? "at the top level" : "at " + arrayPath;
+    }
+
+    private static class Scan {
+        private long count;
+        private JsonNode match;
+    }
+
+    /**
+     * A streamed body can only be read once, while Hamcrest asks for the mismatch
+     * description separately, so the result of reading it is remembered.
+     */
+    private abstract static class ResponseMatcher extends TypeSafeDiagnosingMatcher<Response> {
+        private final String arrayPath;
+        private final String expectation;
+        private Response checked;
+        private String mismatch;
+
+        ResponseMatcher(String arrayPath, String expectation) {
+            this.arrayPath = arrayPath;
+            this.expectation = expectation;
+        }
+
+        /** Null when the body matches, otherwise what was found instead. */
+        abstract String check(InputStream body);
+
+        @Override
+        protected synchronized boolean matchesSafely(Response response, Description mismatchDescription) {
+            if (response != checked) {
+                mismatch = check(response.asInputStream());
+                checked = response;
+            }
+            if (mismatch != null) {
+                mismatchDescription.appendText("JSON array ").appendText(describe(arrayPath)).appendText(" had ")
+                        .appendText(mismatch);
+            }
+            return mismatch == null;
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("JSON array ").appendText(describe(arrayPath)).appendText(" with ")
+                    .appendText(expectation);
+        }
+    }
+}
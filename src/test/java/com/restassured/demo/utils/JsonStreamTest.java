@@ -0,0 +1,138 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JsonStreamTest {
+    private static final String NOTES = "{\"results\": {\"data\": [{\"id\": 1, \"type\": \"a\"}, "
+            + "{\"id\": 2, \"type\": \"b\"}, {\"id\": 3, \"type\": \"b\"}]}, \"total\": 3}";
+
+    @Test(description = "Paths reach top-level, nested and indexed arrays")
+    public void testPaths() {
+        assertThat(JsonStream.count(body("[1, [2, 3], {\"a\": 4}]"), ""), equalTo(3L));
+        assertThat(JsonStream.count(body(NOTES), "results.data"), equalTo(3L));
+        assertThat(JsonStream.count(body("{\"pages\": [[1], [1, 2]]}"), "pages[1]"), equalTo(2L));
+        assertThat(JsonStream.count(body("{\"x\": [{\"y\": [1, 2, 3]}]}"), "x[0].y"), equalTo(3L));
+    }
+
+    @Test(description = "A missing, null or non-array value has no elements")
+    public void testMissingOrNullArray() {
+        assertThat(JsonStream.count(body(NOTES), "results.missing"), equalTo(0L));
+        assertThat(JsonStream.count(body("{\"results\": null}"), "results.data"), equalTo(0L));
+        assertThat(JsonStream.isEmpty(body("{\"data\": null}"), "data"), is(true));
+        assertThat(JsonStream.isEmpty(body(NOTES), "total"), is(true));
+        assertThat(JsonStream.count(body("[1]"), "[5]"), equalTo(0L));
+        assertThat(JsonStream.count(body(""), ""), equalTo(0L));
+        assertThat(JsonStream.anyMatch(body("{}"), "data", element -> true), is(false));
+        // Vacuously true, as for an empty array
+        assertThat(JsonStream.allMatch(body("{\"data\": null}"), "data", element -> false), is(true));
+        assertThat(response("{\"results\": {\"data\": null}}"), not(JsonStream.hasElements("results.data")));
+        assertThat(response("{}"), JsonStream.hasElementCount("results.data", equalTo(0L)));
+    }
+
+    @Test(description = "Searches stop reading at the first answer and always close the body")
+    public void testStopsEarlyAndCloses() {
+        TrackingStream first = new TrackingStream(NOTES + "this trailing garbage is never parsed");
+        Optional<JsonNode> match = JsonStream.findFirst(first, "results.data", element -> element.get("id").asInt() == 2);
+        assertThat(match.map(element -> element.get("type").asText()), equalTo(Optional.of("b")));
+        assertThat(first.closed, is(true));
+
+        TrackingStream empty = new TrackingStream("[1, 2, ");
+        assertThat(JsonStream.isEmpty(empty, ""), is(false));
+        assertThat(empty.closed, is(true));
+    }
+
+    @Test(description = "Field lookups compare with the same Java types as jsonPath and bind the element")
+    public void testFindFirstByField() {
+        Optional<Map> note = JsonStream.findFirst(body(NOTES), "results.data", "type", "b", Map.class);
+        assertThat(note.map(found -> found.get("id")), equalTo(Optional.of(2)));
+        assertThat(JsonStream.findFirst(body(NOTES), "results.data", "id", 2L, Map.class).isPresent(), is(false));
+        assertThat(JsonStream.findFirst(body(NOTES), "results.data", "missing", null, Map.class).isPresent(), is(false));
+    }
+
+    @Test(description = "Response matchers describe what they found instead")
+    public void testMatchers() {
+        assertThat(response(NOTES), JsonStream.everyElement("results.data", "id", greaterThan(0)));
+        assertThat(response(NOTES), JsonStream.hasAnyElement("results.data", "type", equalTo("b")));
+        assertThat(response(NOTES), not(JsonStream.everyElement("results.data", "type", equalTo("b"))));
+
+        try {
+            assertThat(response(NOTES), JsonStream.hasElementCount("results.data", greaterThan(5L)));
+            throw new IllegalStateException("Expected a mismatch");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage(), containsString("JSON array at results.data had 3 element(s)"));
+        }
+    }
+
+    @Test(description = "walkPages stops at the first empty page, at maxPages or when the visitor says so")
+    public void testWalkPages() {
+        List<Integer> requested = new ArrayList<>();
+        long visited = JsonStream.walkPages(number -> {
+            requested.add(number);
+            return response(number <= 2 ? "{\"data\": [1, 2]}" : "{\"data\": []}");
+        }, "data", 10, element -> true);
+        assertThat(visited, equalTo(4L));
+        assertThat(requested, contains(1, 2, 3));
+
+        requested.clear();
+        assertThat(JsonStream.walkPages(number -> {
+            requested.add(number);
+            return response("{\"data\": [1, 2]}");
+        }, "data", 10, element -> element.asInt() < 2), equalTo(2L));
+        assertThat(requested, contains(1));
+
+        assertThat(JsonStream.walkPages(number -> response("{\"data\": [1]}"), "data", 3, element -> true), equalTo(3L));
+    }
+
+    @Test(description = "Malformed paths and bodies are reported")
+    public void testErrors() {
+        assertThrows(IllegalArgumentException.class, () -> JsonStream.count(body("[]"), "a[0"));
+        assertThrows(IllegalArgumentException.class, () -> JsonStream.count(body("[]"), "a..b"));
+        assertThrows(UncheckedIOException.class, () -> JsonStream.count(body("[1, }"), ""));
+    }
+
+    private static void assertThrows(Class<? extends Exception> type, Runnable call) {
+        try {
+            call.run();
+        } catch (Exception e) {
+            assertThat(e, instanceOf(type));
+            return;
+        }
+        throw new AssertionError("Expected " + type.getSimpleName());
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Response response(String json) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(json).build();
+    }
+
+    private static class TrackingStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingStream(String json) {
+            super(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.restassured.demo.utils;
+
+import org.testng.annotations.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LatencyHistogramTest {
+
+    @Test(description = "An empty histogram reports zeros")
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getValueAtPercentile(50), equalTo(0L));
+        assertThat(histogram.getMin(), equalTo(0L));
+        assertThat(histogram.getMax(), equalTo(0L));
+        assertThat(histogram.getMean(), equalTo(0.0));
+        assertThat(histogram.getBuckets().length, equalTo(0));
+    }
+
+    @Test(description = "Percentiles take the nearest rank, so p0 is the smallest and p100 the largest value")
+    public void testPercentileRanks() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getValueAtPercentile(0), equalTo(1L));
+        assertThat(histogram.getValueAtPercentile(1), equalTo(1L));
+        assertThat(histogram.getValueAtPercentile(50), equalTo(50L));
+        assertThat(histogram.getValueAtPercentile(50.5), equalTo(51L));
+        assertThat(histogram.getValueAtPercentile(99), equalTo(99L));
+        assertThat(histogram.getValueAtPercentile(99.9), equalTo(100L));
+        assertThat(histogram.getValueAtPercentile(100), equalTo(100L));
+        assertThat(histogram.getMean(), equalTo(50.5));
+    }
+
+    @Test(description = "A single sample is every percentile")
+    public void testSingleSample() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+
+        assertThat(histogram.getValueAtPercentile(0), equalTo(1000L));
+        assertThat(histogram.getValueAtPercentile(99.99), equalTo(1000L));
+    }
+
+    @Test(description = "Values below 256 are exact; from 256 on they share buckets reported by their upper bound")
+    public void testExactRangeBoundary() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(255);
+        histogram.record(256);
+        histogram.record(257);
+        histogram.record(258);
+
+        assertThat(histogram.getValueAtPercentile(25), equalTo(255L));
+        // 256 and 257 share a bucket
+        assertThat(histogram.getValueAtPercentile(50), equalTo(257L));
+        assertThat(histogram.getValueAtPercentile(75), equalTo(257L));
+        // Never above the largest value recorded
+        assertThat(histogram.getValueAtPercentile(100), equalTo(258L));
+        assertThat(histogram.getBuckets(), equalTo(new long[][] {{255, 1}, {256, 2}, {258, 1}}));
+    }
+
+    @Test(description = "Reported values are at most 1/128 above the recorded value, at any magnitude")
+    public void testRelativeError() {
+        long[] values = {256, 511, 512, 1_000, 65_535, 123_457, 1_000_000_007L, 1L << 40, Long.MAX_VALUE / 3,
+                Long.MAX_VALUE};
+        for (long value : values) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            // A second, larger sample keeps p50 from being capped at the maximum
+            histogram.record(Long.MAX_VALUE);
+
+            long reported = histogram.getValueAtPercentile(50);
+            assertThat("p50 of " + value, reported, greaterThanOrEqualTo(value));
+            assertThat("p50 of " + value, (double) (reported - value), lessThanOrEqualTo(value / 128.0));
+        }
+    }
+
+    @Test(description = "Negative values count as zero")
+    public void testNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        assertThat(histogram.getMin(), equalTo(0L));
+        assertThat(histogram.getValueAtPercentile(100), equalTo(0L));
+    }
+
+    @Test(description = "Merging gives the percentiles of recording everything in one histogram")
+    public void testMerge() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            (value <= 900 ? fast : slow).record(value * 37L);
+            all.record(value * 37L);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.merge(fast);
+        merged.merge(new LatencyHistogram());
+        merged.merge(slow);
+
+        assertThat(merged.getCount(), equalTo(1000L));
+        assertThat(merged.getMin(), equalTo(37L));
+        assertThat(merged.getMax(), equalTo(37_000L));
+        for (double percentile : new double[] {0, 50, 90, 90.1, 99, 100}) {
+            assertThat("p" + percentile, merged.getValueAtPercentile(percentile),
+                    equalTo(all.getValueAtPercentile(percentile)));
+        }
+    }
+
+    @Test(description = "Buckets re-imported with recordCount reproduce the percentiles")
+    public void testBucketsRoundTrip() {
+        LatencyHistogram original = new LatencyHistogram();
+        for (int value = 0; value < 5000; value += 7) {
+            original.record(value);
+        }
+
+        LatencyHistogram imported = new LatencyHistogram();
+        for (long[] bucket : original.getBuckets()) {
+            imported.recordCount(bucket[0], bucket[1]);
+        }
+        imported.recordCount(123, 0);
+
+        assertThat(imported.getCount(), equalTo(original.getCount()));
+        for (double percentile : new double[] {0, 25, 50, 95, 99}) {
+            assertThat("p" + percentile, imported.getValueAtPercentile(percentile),
+                    equalTo(original.getValueAtPercentile(percentile)));
+        }
+    }
+}
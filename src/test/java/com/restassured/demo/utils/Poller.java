@@ -0,0 +1,182 @@
+package com.restassured.demo.utils;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Polls an eventually-consistent endpoint until a condition holds. Polling starts
+ * with a short fixed interval for a fast initial phase, then backs off
+ * exponentially with jitter up to a maximum interval, all within a total time
+ * budget.
+ *
+ * <pre>
+ * PollResult&lt;Response&gt; result = Poller.poll(this::getScheduledRound)
+ *         .until(response -&gt; response.statusCode() == 200)
+ *         .timeout(Duration.ofMinutes(5))
+ *         .await();
+ * </pre>
+ */
+public class Poller<T> {
+    private final Supplier<T> action;
+    private Predicate<? super T> condition = Objects::nonNull;
+    private Duration fastInterval = Duration.ofMillis(250);
+    private Duration fastPhase = Duration.ofSeconds(5);
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxInterval = Duration.ofSeconds(30);
+    private double multiplier = 2.0;
+    private double jitter = 0.2;
+    private Duration timeout = Duration.ofMinutes(5);
+    private boolean ignoreExceptions = true;
+
+    private Poller(Supplier<T> action) {
+        this.action = action;
+    }
+
+    public static <T> Poller<T> poll(Supplier<T> action) {
+        return new Poller<>(action);
+    }
+
+    public Poller<T> until(Predicate<? super T> condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /** Polls every {@code interval} until {@code duration} has elapsed, before backing off. */
+    public Poller<T> fastPhase(Duration interval, Duration duration) {
+        this.fastInterval = interval;
+        this.fastPhase = duration;
+        return this;
+    }
+
+    public Poller<T> backoff(Duration initial, double multiplier, Duration maxInterval) {
+        this.initialBackoff = initial;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+        return this;
+    }
+
+    /** Randomizes each delay by up to +/- {@code fraction} so parallel pollers spread out. */
+    public Poller<T> jitter(double fraction) {
+        this.jitter = fraction;
+        return this;
+    }
+
+    public Poller<T> timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public Poller<T> ignoreExceptions(boolean ignoreExceptions) {
+        this.ignoreExceptions = ignoreExceptions;
+        return this;
+    }
+
+    public PollResult<T> await() {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long backoffNanos = initialBackoff.toNanos();
+        int attempts = 0;
+        T last = null;
+        RuntimeException lastError = null;
+
+        while (true) {
+            attempts++;
+            try {
+                last = action.get();
+                lastError = null;
+                if (condition.test(last)) {
+                    return new PollResult<>(last, attempts, Duration.ofNanos(System.nanoTime() - start));
+                }
+            } catch (RuntimeException e) {
+                if (!ignoreExceptions) {
+                    throw e;
+                }
+                lastError = e;
+            }
+
+            long now = System.nanoTime();
+            if (now >= deadline) {
+                throw new PollTimeoutException(attempts, Duration.ofNanos(now - start), last, lastError);
+            }
+
+            long delay;
+            if (now - start < fastPhase.toNanos()) {
+                delay = fastInterval.toNanos();
+            } else {
+                delay = backoffNanos;
+                backoffNanos = Math.min((long) (backoffNanos * multiplier), maxInterval.toNanos());
+            }
+            delay = withJitter(delay);
+            sleep(Math.min(delay, deadline - now));
+        }
+    }
+
+    private long withJitter(long delay) {
+        if (jitter <= 0) {
+            return delay;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max(0, (long) (delay * factor));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while polling", e);
+        }
+    }
+
+    /** Outcome of a successful poll: the final value plus how long convergence took. */
+    public static class PollResult<T> {
+        private final T value;
+        private final int attempts;
+        private final Duration latency;
+
+        PollResult(T value, int attempts, Duration latency) {
+            this.value = value;
+            this.attempts = attempts;
+            this.latency = latency;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public Duration getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return "converged after " + attempts + " poll(s) in " + latency.toMillis() + " ms";
+        }
+    }
+
+    public static class PollTimeoutException extends RuntimeException {
+        private final int attempts;
+        private final Object lastValue;
+
+        PollTimeoutException(int attempts, Duration elapsed, Object lastValue, Throwable lastError) {
+            super("Condition not met after " + attempts + " poll(s) in " + elapsed.toMillis() + " ms", lastError);
+            this.attempts = attempts;
+            this.lastValue = lastValue;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public Object getLastValue() {
+            return lastValue;
+        }
+    }
+}
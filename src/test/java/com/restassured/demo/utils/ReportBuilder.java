@@ -0,0 +1,140 @@
+package com.restassured.demo.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the Extent HTML report from a report event log. Runs at the end of the
+ * suite, and can also be started on its own to recover the report of a run that
+ * crashed:
+ *
+ * <pre>java ... com.restassured.demo.utils.ReportBuilder [event-log] [report.html]</pre>
+ */
+public final class ReportBuilder {
+    private static final Logger LOG = LoggerFactory.getLogger(ReportBuilder.class);
+    private static final ObjectReader READER = new ObjectMapper().readerFor(ReportEvent.class);
+
+    private ReportBuilder() {
+    }
+
+    public static void build(Path eventLog, ExtentReports reports) {
+        build(List.of(eventLog), reports);
+    }
+
+    public static void build(List<Path> eventLogs, ExtentReports reports) {
+        for (Path eventLog : eventLogs) {
+            replay(eventLog, reports);
+        }
+        reports.flush();
+    }
+
+    private static void replay(Path eventLog, ExtentReports reports) {
+        Map<Long, ExtentTest> tests = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                ReportEvent event;
+                try {
+                    event = READER.readValue(line);
+                } catch (JsonProcessingException e) {
+                    // A crash can leave the last line half written
+                    continue;
+                }
+                apply(event, tests, reports);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read report event log " + eventLog, e);
+        }
+    }
+
+    private static void apply(ReportEvent event, Map<Long, ExtentTest> tests, ExtentReports reports) {
+        if (event.getType() == ReportEvent.Type.START) {
+            ExtentTest test = reports.createTest(event.getName());
+            test.getModel().setStartTime(new Date(event.getTimestamp()));
+            tests.put(event.getTestId(), test);
+            return;
+        }
+        ExtentTest test = tests.get(event.getTestId());
+        if (test == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case LOG:
+                test.log(event.getStatus(), event.getDetails());
+                break;
+            case MARKUP:
+                String html = event.getDetails();
+                test.log(event.getStatus(), () -> html);
+                break;
+            case EXCEPTION:
+                test.log(event.getStatus(), new RecordedException(event.getDetails()));
+                break;
+            default:
+                return;
+        }
+        // Keep the original timings rather than the time of the rebuild
+        Date timestamp = new Date(event.getTimestamp());
+        List<Log> logs = test.getModel().getLogs();
+        if (!logs.isEmpty()) {
+            logs.get(logs.size() - 1).setTimestamp(timestamp);
+        }
+        test.getModel().setEndTime(timestamp);
+    }
+
+    public static void main(String[] args) {
+        Path eventLog = Paths.get(args.length > 0 ? args[0] : ExtentReportManager.EVENT_LOG_FILE);
+        String reportFile = args.length > 1 ? args[1] : ExtentReportManager.REPORT_FILE;
+        build(eventLog, ExtentReportManager.createInstance(reportFile));
+        LOG.info("Report written to {}", reportFile);
+    }
+
+    /** Replays a recorded stack trace verbatim. */
+    private static class RecordedException extends RuntimeException {
+        private final String stackTrace;
+
+        RecordedException(String stackTrace) {
+            super(firstLine(stackTrace), null, false, false);
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.print(stackTrace);
+        }
+
+        @Override
+        public void printStackTrace(PrintStream stream) {
+            stream.print(stackTrace);
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+
+        private static String firstLine(String text) {
+            int end = text.indexOf('\n');
+            return (end < 0 ? text : text.substring(0, end)).trim();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.restassured.demo.utils;
+
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One line of the on-disk report event log. Events reference their test by id so
+ * that tests running on different threads can interleave freely.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportEvent {
+    public enum Type { START, LOG, MARKUP, EXCEPTION }
+
+    private Type type;
+    private long testId;
+    private long timestamp;
+    private String name;
+    private Status status;
+    private String details;
+
+    public ReportEvent() {
+    }
+
+    ReportEvent(Type type, long testId, String name, Status status, String details) {
+        this.type = type;
+        this.testId = testId;
+        this.timestamp = System.currentTimeMillis();
+        this.name = name;
+        this.status = status;
+        this.details = details;
+    }
+
+    @JsonProperty("type")
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    @JsonProperty("testId")
+    public long getTestId() {
+        return testId;
+    }
+
+    public void setTestId(long testId) {
+        this.testId = testId;
+    }
+
+    @JsonProperty("timestamp")
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @JsonProperty("name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @JsonProperty("status")
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    @JsonProperty("details")
+    public String getDetails() {
+        return details;
+    }
+
+    public void setDetails(String details) {
+        this.details = details;
+    }
+}
@@ -0,0 +1,133 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only JSON-lines log of report events. Test threads enqueue events on a
+ * lock-free queue and a single writer thread appends them to disk as the run
+ * progresses, so a partial report can still be built if the JVM dies.
+ *
+ * <p>At most {@code report.maxPendingEvents} events wait in memory; producers back
+ * off briefly when the writer falls behind.
+ */
+public class ReportEventLog implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ReportEventLog.class);
+    private static final int MAX_PENDING = Integer.getInteger("report.maxPendingEvents", 10_000);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final ObjectWriter WRITER = new ObjectMapper().writerFor(ReportEvent.class);
+
+    private final Path file;
+    private final ConcurrentLinkedQueue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong nextTestId = new AtomicLong();
+    private final BufferedWriter out;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public ReportEventLog(Path file, boolean append) {
+        this.file = file;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open report event log " + file, e);
+        }
+        writer = new Thread(this::drainLoop, "report-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public ReportTest createTest(String name) {
+        long id = nextTestId.incrementAndGet();
+        publish(new ReportEvent(ReportEvent.Type.START, id, name, null, null));
+        return new ReportTest(id, this);
+    }
+
+    void publish(ReportEvent event) {
+        while (pending.get() >= MAX_PENDING && !closed) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        pending.incrementAndGet();
+        queue.offer(event);
+    }
+
+    /** Writes out everything queued so far and stops the writer thread. */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        boolean failed = false;
+        try {
+            while (!closed || !queue.isEmpty()) {
+                int written = 0;
+                ReportEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (!failed) {
+                        try {
+                            out.write(WRITER.writeValueAsString(event));
+                            out.newLine();
+                        } catch (IOException e) {
+                            failed = true;
+                            LOG.error("Report event log disabled, write to {} failed", file, e);
+                        }
+                    }
+                    written++;
+                }
+                if (written > 0) {
+                    pending.addAndGet(-written);
+                    if (!failed) {
+                        flushQuietly();
+                    }
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close report event log {}", file, e);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            LOG.warn("Failed to flush report event log {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.restassured.demo.utils;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * Lightweight stand-in for an {@code ExtentTest} handed to test threads. Logging
+ * only queues an event; the Extent model is built from the event log afterwards.
+ */
+public class ReportTest {
+    private final long id;
+    private final ReportEventLog log;
+
+    ReportTest(long id, ReportEventLog log) {
+        this.id = id;
+        this.log = log;
+    }
+
+    public ReportTest log(Status status, String details) {
+        log.publish(new ReportEvent(ReportEvent.Type.LOG, id, null, status, details));
+        return this;
+    }
+
+    public ReportTest log(Status status, Markup markup) {
+        log.publish(new ReportEvent(ReportEvent.Type.MARKUP, id, null, status, markup.getMarkup()));
+        return this;
+    }
+
+    public ReportTest log(Status status, Throwable throwable) {
+        if (throwable == null) {
+            return log(status, "No exception recorded");
+        }
+        StringWriter stackTrace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(stackTrace));
+        log.publish(new ReportEvent(ReportEvent.Type.EXCEPTION, id, null, status, stackTrace.toString()));
+        return this;
+    }
+
+    public ReportTest info(String details) {
+        return log(Status.INFO, details);
+    }
+
+    public ReportTest info(Markup markup) {
+        return log(Status.INFO, markup);
+    }
+}
@@ -0,0 +1,70 @@
+package com.restassured.demo.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.restassured.demo.config.JacksonConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contract schemas from {@code src/test/resources/schemas}, each loaded and compiled
+ * once and then shared by every thread. {@code TestConfig} compiles the ones its
+ * response specifications use when the suite starts, so no test pays for it.
+ */
+public class SchemaRegistry {
+    private static final String DIRECTORY = "schemas/";
+    private static final SchemaRegistry SUITE = new SchemaRegistry();
+
+    private final Map<String, JsonNode> documents = new ConcurrentHashMap<>();
+    private final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    /** The registry {@code TestConfig}'s contract specifications use. */
+    public static SchemaRegistry suite() {
+        return SUITE;
+    }
+
+    /** The compiled schema in {@code schemas/<file>}, e.g. {@code "login.schema.json"}. */
+    public JsonSchema get(String file) {
+        return schemas.computeIfAbsent(file, name -> JsonSchema.compile(name, this::document));
+    }
+
+    /** Whether any schema has been used to validate a response. */
+    public boolean hasValidations() {
+        return schemas.values().stream().anyMatch(schema -> schema.getMicros().getCount() > 0);
+    }
+
+    /** Header row plus one row per schema, with what compiling and validating cost. */
+    public String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Schema", "Compile ms", "Validations", "Failures", "Mean µs", "p50 µs", "p99 µs",
+                "Max µs", "KB validated"});
+        new TreeMap<>(schemas).forEach((name, schema) -> {
+            LatencyHistogram micros = schema.getMicros();
+            rows.add(new String[] {name, String.format("%.1f", schema.getCompileNanos() / 1e6),
+                    String.valueOf(micros.getCount()), String.valueOf(schema.getFailures()),
+                    String.format("%.0f", micros.getMean()), String.valueOf(micros.getValueAtPercentile(50)),
+                    String.valueOf(micros.getValueAtPercentile(99)), String.valueOf(micros.getMax()),
+                    String.format("%.1f", schema.getBytes() / 1024.0)});
+        });
+        return rows.toArray(new String[0][]);
+    }
+
+    private JsonNode document(String file) {
+        return documents.computeIfAbsent(file, name -> {
+            try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(DIRECTORY + name)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("No schema " + DIRECTORY + name + " on the classpath");
+                }
+                return JacksonConfig.mapper().readTree(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read schema " + DIRECTORY + name, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package com.restassured.demo.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.restassured.demo.metrics.EndpointLatencies;
+import com.restassured.demo.metrics.TestResourceReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the outputs of a sharded run ({@code -Dshard=i/N}) into the same files an
+ * unsharded run writes: one Extent report replayed from every shard's event log and
+ * one latency summary merged from every shard's histograms, and one per-test
+ * resource usage export. Collect each agent's
+ * {@code test-output/shards/i-of-N} directory into one workspace, then run
+ * {@code mvn verify -Pmerge-shards} or:
+ *
+ * <pre>java ... com.restassured.demo.utils.ShardMerger [shards-dir]</pre>
+ */
+public final class ShardMerger {
+    private static final Logger LOG = LoggerFactory.getLogger(ShardMerger.class);
+    private static final String SHARDS_DIR = "test-output/shards";
+    private static final Pattern SHARD_LABEL = Pattern.compile("(\\d+)-of-(\\d+)");
+
+    private ShardMerger() {
+    }
+
+    public static void merge(Path shardsDir) {
+        List<Path> shards = listShards(shardsDir);
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard outputs found in " + shardsDir);
+        }
+        warnAboutMissingShards(shards);
+
+        List<Path> eventLogs = new ArrayList<>();
+        EndpointLatencies latencies = new EndpointLatencies();
+        TestResourceReport resources = new TestResourceReport();
+        for (Path shard : shards) {
+            Path eventLog = shard.resolve(Paths.get(ExtentReportManager.EVENT_LOG_FILE).getFileName());
+            if (Files.isRegularFile(eventLog)) {
+                eventLogs.add(eventLog);
+            }
+            Path latencyJson = shard.resolve(Paths.get(EndpointLatencies.JSON_FILE).getFileName());
+            if (Files.isRegularFile(latencyJson)) {
+                latencies.mergeJson(latencyJson);
+            }
+            Path resourceCsv = shard.resolve(Paths.get(TestResourceReport.CSV_FILE).getFileName());
+            if (Files.isRegularFile(resourceCsv)) {
+                resources.mergeCsv(resourceCsv);
+            }
+        }
+
+        ExtentReports reports = ExtentReportManager.createInstance(ExtentReportManager.REPORT_FILE);
+        ReportBuilder.build(eventLogs, reports);
+        if (!latencies.isEmpty()) {
+            latencies.writeCsv(Paths.get(EndpointLatencies.CSV_FILE));
+            latencies.writeJson(Paths.get(EndpointLatencies.JSON_FILE));
+            latencies.writePrometheus(Paths.get(EndpointLatencies.PROMETHEUS_FILE));
+            reports.createTest("Latency summary").log(Status.INFO, MarkupHelper.createTable(latencies.toTable()));
+        }
+        if (!resources.isEmpty()) {
+            resources.writeCsv(Paths.get(TestResourceReport.CSV_FILE));
+            reports.createTest("Resource usage").log(Status.INFO,
+                    MarkupHelper.createTable(resources.toTable(Integer.getInteger("resources.top", 10))));
+        }
+        if (!latencies.isEmpty() || !resources.isEmpty()) {
+            reports.flush();
+        }
+        LOG.info("Merged {} shard(s) from {} into {}", shards.size(), shardsDir, ExtentReportManager.REPORT_FILE);
+    }
+
+    private static List<Path> listShards(Path shardsDir) {
+        if (!Files.isDirectory(shardsDir)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(shardsDir)) {
+            return children.filter(Files::isDirectory)
+                    .filter(dir -> SHARD_LABEL.matcher(dir.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list shard outputs in " + shardsDir, e);
+        }
+    }
+
+    // A partial merge is still useful, but it must not pass for a complete run
+    private static void warnAboutMissingShards(List<Path> shards) {
+        Set<Integer> totals = new TreeSet<>();
+        Set<Integer> present = new TreeSet<>();
+        for (Path shard : shards) {
+            Matcher label = SHARD_LABEL.matcher(shard.getFileName().toString());
+            label.matches();
+            present.add(Integer.parseInt(label.group(1)));
+            totals.add(Integer.parseInt(label.group(2)));
+        }
+        if (totals.size() > 1) {
+            LOG.warn("Shard outputs from runs with different shard counts {}", totals);
+            return;
+        }
+        int total = totals.iterator().next();
+        for (int i = 1; i <= total; i++) {
+            if (!present.contains(i)) {
+                LOG.warn("No output for shard {}/{}", i, total);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        merge(Paths.get(args.length > 0 ? args[0] : SHARDS_DIR));
+    }
+}
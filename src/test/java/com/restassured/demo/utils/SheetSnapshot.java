@@ -0,0 +1,384 @@
+package com.restassured.demo.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Compact binary copy of one sheet's data rows, so runs after the first read test
+ * data without loading POI or unzipping the workbook. Snapshots live in
+ * {@code target/test-data-snapshots} (or {@code -Dexcel.snapshotDir}) under the
+ * SHA-256 of the workbook's content and the sheet name, so an edited workbook
+ * simply gets a new snapshot. A workbook is hashed once per JVM, and again only
+ * when its size or modification time changes. They are memory-mapped and rows are decoded on
+ * demand, with the types {@code ExcelDataReader} has always produced: String,
+ * Integer, Boolean or null.
+ *
+ * <p>Layout: magic, version and column count; every row's cells as a tag byte plus
+ * payload; then the offset of each row, the row count and the offset table's
+ * position. Snapshots are written to a temporary file and moved into place, so
+ * concurrent forks never see half a snapshot.
+ */
+final class SheetSnapshot {
+    private static final Logger LOG = LoggerFactory.getLogger(SheetSnapshot.class);
+    private static final int MAGIC = 0x58534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int FOOTER_BYTES = 12;
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte TRUE = 3;
+    private static final byte FALSE = 4;
+
+    private static final Path DIRECTORY = Paths.get(System.getProperty("excel.snapshotDir", "target/test-data-snapshots"));
+    // Built outside the map's locks; concurrent callers for the same sheet wait on one future
+    private static final Map<Path, CompletableFuture<SheetSnapshot>> OPEN = new ConcurrentHashMap<>();
+    // Workbook content digests, recomputed only when a workbook's size or modification time changes
+    private static final Map<Path, ContentDigest> DIGESTS = new ConcurrentHashMap<>();
+
+    private final ByteBuffer data;
+    private final int columnCount;
+    private final int rowCount;
+    private final int offsetTable;
+
+    private SheetSnapshot(ByteBuffer data) {
+        if (data.capacity() < HEADER_BYTES + FOOTER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalStateException("not a sheet snapshot of version " + VERSION);
+        }
+        this.data = data;
+        this.columnCount = data.getInt(8);
+        this.rowCount = data.getInt(data.capacity() - FOOTER_BYTES);
+        long table = data.getLong(data.capacity() - 8);
+        if (rowCount < 0 || table < HEADER_BYTES || table + 4L * rowCount != data.capacity() - FOOTER_BYTES) {
+            throw new IllegalStateException("truncated sheet snapshot");
+        }
+        this.offsetTable = (int) table;
+    }
+
+    /**
+     * The snapshot of {@code sheetName}, mapped from disk, or compiled from the rows
+     * {@code source} supplies when there is none yet for this content.
+     */
+    static SheetSnapshot of(File workbook, String sheetName, RowSource source) {
+        Path path = DIRECTORY.resolve(key(workbook, sheetName) + ".bin");
+        CompletableFuture<SheetSnapshot> snapshot = OPEN.get(path);
+        if (snapshot == null) {
+            CompletableFuture<SheetSnapshot> created = new CompletableFuture<>();
+            snapshot = OPEN.putIfAbsent(path, created);
+            if (snapshot == null) {
+                snapshot = created;
+                try {
+                    created.complete(load(path, source));
+                } catch (RuntimeException e) {
+                    // Not cached, so the next caller tries again
+                    OPEN.remove(path, created);
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return snapshot.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private static SheetSnapshot load(Path path, RowSource source) {
+        if (Files.isRegularFile(path)) {
+            try {
+                return map(path);
+            } catch (IOException | RuntimeException e) {
+                // A damaged snapshot is only a cache miss
+                LOG.warn("Rebuilding unreadable test data snapshot {}: {}", path, e.getMessage());
+            }
+        }
+        Iterator<Object[]> rows = source.rows();
+        try {
+            write(path, rows);
+        } finally {
+            // A source that stops before its end, e.g. when writing fails, must release what it holds
+            if (rows instanceof AutoCloseable) {
+                closeQuietly((AutoCloseable) rows);
+            }
+        }
+        try {
+            return map(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map test data snapshot " + path, e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable rows) {
+        try {
+            rows.close();
+        } catch (Exception e) {
+            LOG.warn("Failed to close test data rows: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The workbook's sheet names, from an index kept next to its snapshots, or from
+     * {@code source} the first time this content is seen.
+     */
+    static List<String> sheetNames(File workbook, Supplier<List<String>> source) {
+        // Sheets cannot have an empty name, so this key is the workbook's own
+        Path path = DIRECTORY.resolve(key(workbook, "") + ".sheets");
+        try {
+            if (Files.isRegularFile(path)) {
+                return Files.readAllLines(path, StandardCharsets.UTF_8);
+            }
+            List<String> names = source.get();
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, names, StandardCharsets.UTF_8);
+                moveIntoPlace(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return names;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to access test data snapshot index " + path, e);
+        }
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /** Row {@code number}, 1-based below the header like the shard row filter. */
+    Object[] row(int number) {
+        ByteBuffer view = data.duplicate();
+        view.position(data.getInt(offsetTable + 4 * (number - 1)));
+        Object[] row = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            row[i] = decode(view);
+        }
+        return row;
+    }
+
+    /** The rows accepted by {@code rowFilter}, decoded as they are consumed; safe to share between threads. */
+    Iterator<Object[]> rows(IntPredicate rowFilter) {
+        return new Iterator<>() {
+            private int number;
+
+            @Override
+            public synchronized boolean hasNext() {
+                while (number < rowCount && !rowFilter.test(number + 1)) {
+                    number++;
+                }
+                return number < rowCount;
+            }
+
+            @Override
+            public synchronized Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row(++number);
+            }
+        };
+    }
+
+    private static Object decode(ByteBuffer view) {
+        byte tag = view.get();
+        switch (tag) {
+            case STRING:
+                byte[] utf8 = new byte[view.getInt()];
+                view.get(utf8);
+                return new String(utf8, StandardCharsets.UTF_8);
+            case INTEGER:
+                return view.getInt();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    private static SheetSnapshot map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SheetSnapshot(data);
+        }
+    }
+
+    private static void write(Path path, Iterator<Object[]> rows) {
+        Path temp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            int columns = -1;
+            IntList offsets = new IntList();
+            // size() counts what was written through the buffer, so offsets need no flush
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(0);
+                while (rows.hasNext()) {
+                    Object[] row = rows.next();
+                    columns = Math.max(columns, row.length);
+                    offsets.add(out.size());
+                    for (Object cell : row) {
+                        encode(out, cell);
+                    }
+                }
+                long table = out.size();
+                for (int i = 0; i < offsets.size; i++) {
+                    out.writeInt(offsets.values[i]);
+                }
+                out.writeInt(offsets.size);
+                out.writeLong(table);
+            }
+            // The column count is only known once every row has been seen
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(4).putInt(0, Math.max(columns, 0)), 8);
+            }
+            moveIntoPlace(temp, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test data snapshot " + path, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // left behind in target/, which the next clean removes
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void encode(DataOutputStream out, Object cell) throws IOException {
+        if (cell instanceof String) {
+            byte[] utf8 = ((String) cell).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else if (cell instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) cell);
+        } else if (cell instanceof Boolean) {
+            out.writeByte((Boolean) cell ? TRUE : FALSE);
+        } else {
+            out.writeByte(NULL);
+        }
+    }
+
+    private static String key(File workbook, String sheetName) {
+        MessageDigest digest = contentDigest(workbook.toPath().toAbsolutePath());
+        digest.update((byte) 0);
+        digest.update(sheetName.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /** A digest that has seen the workbook's content, for the caller to finish. */
+    private static MessageDigest contentDigest(Path workbook) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(workbook, BasicFileAttributes.class);
+            ContentDigest cached = DIGESTS.get(workbook);
+            if (cached == null || !cached.matches(attributes)) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = Files.newInputStream(workbook)) {
+                    byte[] buffer = new byte[8192];
+                    for (int read; (read = in.read(buffer)) > 0; ) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+                cached = new ContentDigest(attributes, digest);
+                DIGESTS.put(workbook, cached);
+            }
+            return cached.copy();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read Excel file: " + workbook, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Supplies every data row of the sheet, in order, when a snapshot has to be built. */
+    interface RowSource {
+        Iterator<Object[]> rows();
+    }
+
+    private static class ContentDigest {
+        private final long size;
+        private final FileTime lastModified;
+        private final MessageDigest digest;
+
+        ContentDigest(BasicFileAttributes attributes, MessageDigest digest) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.digest = digest;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return attributes.size() == size && attributes.lastModifiedTime().equals(lastModified);
+        }
+
+        // The cached digest is never updated itself, so clones can be taken concurrently
+        MessageDigest copy() {
+            try {
+                return (MessageDigest) digest.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("SHA-256 digest cannot be copied", e);
+            }
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[64];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.restassured.demo.utils;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SheetSnapshotTest {
+    private static final Object[][] MIXED = {
+            {"plain", 0, Boolean.TRUE, null},
+            {"", Integer.MIN_VALUE, Boolean.FALSE, "Ünïcödé ✓ 😀"},
+            {null, Integer.MAX_VALUE, null, -42},
+            {null, null, null, null},
+    };
+
+    private Path workbooks;
+
+    @BeforeClass
+    public void createWorkbookDirectory() throws IOException {
+        workbooks = Files.createTempDirectory("sheet-snapshot-test");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteWorkbooks() throws IOException {
+        try (Stream<Path> files = Files.list(workbooks)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(workbooks);
+    }
+
+    @Test(description = "Strings, Integers, Booleans and nulls come back as written, in order")
+    public void testMixedCellTypesRoundTrip() throws IOException {
+        SheetSnapshot snapshot = SheetSnapshot.of(workbook(), "Mixed", () -> Arrays.asList(MIXED).iterator());
+
+        assertThat(snapshot.getRowCount(), equalTo(MIXED.length));
+        for (int number = 1; number <= MIXED.length; number++) {
+            assertThat(Arrays.asList(snapshot.row(number)), contains(MIXED[number - 1]));
+        }
+        Object[] row = snapshot.row(2);
+        assertThat(row[1], instanceOf(Integer.class));
+        assertThat(row[2], instanceOf(Boolean.class));
+    }
+
+    @Test(description = "rows() skips filtered rows, numbering them from 1 below the header")
+    public void testFilteredRows() throws IOException {
+        SheetSnapshot snapshot = SheetSnapshot.of(workbook(), "Mixed", () -> Arrays.asList(MIXED).iterator());
+
+        Iterator<Object[]> even = snapshot.rows(number -> number % 2 == 0);
+        assertThat(even.next()[0], equalTo(""));
+        assertThat(even.next()[0], nullValue());
+        assertThat(even.hasNext(), is(false));
+        try {
+            even.next();
+            throw new AssertionError("Expected the iterator to be exhausted");
+        } catch (NoSuchElementException expected) {
+            // past the last row
+        }
+    }
+
+    @Test(description = "A sheet without data rows has an empty snapshot")
+    public void testEmptySheet() throws IOException {
+        SheetSnapshot snapshot = SheetSnapshot.of(workbook(), "Empty", () -> new ArrayList<Object[]>().iterator());
+
+        assertThat(snapshot.getRowCount(), equalTo(0));
+        assertThat(snapshot.rows(number -> true).hasNext(), is(false));
+    }
+
+    @Test(description = "The same sheet of unchanged content is compiled once")
+    public void testBuiltOncePerContent() throws IOException {
+        File workbook = workbook();
+        AtomicInteger builds = new AtomicInteger();
+        SheetSnapshot.RowSource source = () -> {
+            builds.incrementAndGet();
+            return Arrays.asList(MIXED).iterator();
+        };
+
+        SheetSnapshot first = SheetSnapshot.of(workbook, "Mixed", source);
+        SheetSnapshot second = SheetSnapshot.of(workbook, "Mixed", source);
+
+        assertThat(second, sameInstance(first));
+        assertThat(builds.get(), equalTo(1));
+    }
+
+    @Test(description = "Editing the workbook re-hashes it and builds a new snapshot")
+    public void testEditedWorkbookGetsNewSnapshot() throws IOException {
+        File workbook = workbook();
+        SheetSnapshot before = SheetSnapshot.of(workbook, "Sheet", () -> List.<Object[]>of(new Object[]{"old"}).iterator());
+
+        Files.write(workbook.toPath(), "edited".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        SheetSnapshot after = SheetSnapshot.of(workbook, "Sheet", () -> List.<Object[]>of(new Object[]{"new"}).iterator());
+
+        assertThat(before.row(1)[0], equalTo("old"));
+        assertThat(after.row(1)[0], equalTo("new"));
+    }
+
+    @Test(description = "A damaged snapshot on disk is rebuilt from the source")
+    public void testCorruptSnapshotIsRebuilt() throws IOException {
+        File workbook = workbook();
+        Path path = snapshotPath(workbook, "Mixed");
+        Files.createDirectories(path.getParent());
+        Files.write(path, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        SheetSnapshot snapshot = SheetSnapshot.of(workbook, "Mixed", () -> Arrays.asList(MIXED).iterator());
+
+        assertThat(snapshot.getRowCount(), equalTo(MIXED.length));
+        assertThat(Arrays.asList(snapshot.row(2)), contains(MIXED[1]));
+    }
+
+    @Test(description = "A failed build is not cached")
+    public void testFailedBuildIsRetried() throws IOException {
+        File workbook = workbook();
+        try {
+            SheetSnapshot.of(workbook, "Mixed", () -> {
+                throw new IllegalStateException("workbook unreadable");
+            });
+            throw new AssertionError("Expected the build to fail");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("workbook unreadable"));
+        }
+
+        SheetSnapshot snapshot = SheetSnapshot.of(workbook, "Mixed", () -> Arrays.asList(MIXED).iterator());
+        assertThat(snapshot.getRowCount(), equalTo(MIXED.length));
+    }
+
+    @Test(description = "Sheet names are read from the source once, then from the index")
+    public void testSheetNamesIndex() throws IOException {
+        File workbook = workbook();
+
+        assertThat(SheetSnapshot.sheetNames(workbook, () -> List.of("Login", "Notes")), contains("Login", "Notes"));
+        assertThat(SheetSnapshot.sheetNames(workbook, () -> {
+            throw new AssertionError("Index was not used");
+        }), contains("Login", "Notes"));
+    }
+
+    /** A stand-in workbook; snapshots only hash its bytes, so unique content is all it needs. */
+    private File workbook() throws IOException {
+        Path workbook = Files.createTempFile(workbooks, "workbook", ".xlsx");
+        Files.write(workbook, UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        return workbook.toFile();
+    }
+
+    /** Where SheetSnapshot keeps {@code sheetName} of this content. */
+    private static Path snapshotPath(File workbook, String sheetName) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Files.readAllBytes(workbook.toPath()));
+            digest.update((byte) 0);
+            digest.update(sheetName.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return Paths.get(System.getProperty("excel.snapshotDir", "target/test-data-snapshots"))
+                    .resolve(hex + ".bin");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
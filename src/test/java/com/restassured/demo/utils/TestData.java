@@ -0,0 +1,50 @@
+package com.restassured.demo.utils;
+
+import com.restassured.demo.models.EmrRoundSchedule;
+import com.restassured.demo.models.ShiftNote;
+import com.restassured.demo.models.ShiftNoteClient;
+
+import java.util.Collections;
+
+/**
+ * Request payloads shared by the functional tests and the load scenarios, so both
+ * exercise the API with exactly the same data.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static ShiftNote shiftNotePayload() {
+        return shiftNote("Day Shift", "notes\ntest", 153, 2386, "2025/03/26 16:30", "2025/03/27 00:30");
+    }
+
+    public static ShiftNote updatedShiftNotePayload() {
+        return shiftNote("Night Shift", "test\nnotes", 154, 2387, "2025/04/27 10:44", "2025/04/27 11:44");
+    }
+
+    public static EmrRoundSchedule schedulePayload() {
+        EmrRoundSchedule payload = new EmrRoundSchedule();
+        payload.setRoundId(107);
+        payload.setClientId(2386);
+        payload.setClinicianId("131");
+        payload.setTreatmentEpisodeId(1466);
+        return payload;
+    }
+
+    private static ShiftNote shiftNote(String shift, String note, int locationId, int clientId,
+                                       String startDate, String endDate) {
+        ShiftNoteClient client = new ShiftNoteClient();
+        client.setClientId(clientId);
+
+        ShiftNote payload = new ShiftNote();
+        payload.setClinicianId("131");
+        payload.setLocationId(locationId);
+        payload.setShift(shift);
+        payload.setNote(note);
+        payload.setStartDate(startDate);
+        payload.setEndDate(endDate);
+        payload.setClients(Collections.singletonList(client));
+        return payload;
+    }
+}
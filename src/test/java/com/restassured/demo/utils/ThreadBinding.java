@@ -0,0 +1,12 @@
+package com.restassured.demo.utils;
+
+/**
+ * Per-test state captured on the thread running a test, so another thread doing
+ * work for the same test - such as a call fanned out with {@code TestConfig.async}
+ * - records into it instead of into state of its own.
+ */
+@FunctionalInterface
+public interface ThreadBinding {
+    /** Makes the captured state the current thread's; the returned action clears it again. */
+    Runnable bind();
+}